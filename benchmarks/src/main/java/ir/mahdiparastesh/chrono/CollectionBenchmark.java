@@ -0,0 +1,76 @@
+package ir.mahdiparastesh.chrono;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping all the inputs per invocation, by IranianBuckets and by the date maps,
+ * and looking up one input per invocation in the maps which are built beforehand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @Benchmark
+    public IranianBuckets.OfLong buckets(Inputs in) {
+        return IranianBuckets.ofEpochDays(IranianBuckets.Unit.MONTH, in.epochDays, in.amounts);
+    }
+
+    @Benchmark
+    public IranianDateLongMap dateMap(Inputs in) {
+        var map = new IranianDateLongMap();
+        for (IranianDate date : in.dates) map.addTo(date, 1);
+        return map;
+    }
+
+    @Benchmark
+    public HashMap<IranianDate, Long> hashMap(Inputs in) {
+        var map = new HashMap<IranianDate, Long>();
+        for (IranianDate date : in.dates) map.merge(date, 1L, Long::sum);
+        return map;
+    }
+
+    @Benchmark
+    public TreeMap<IranianDate, Long> treeMap(Inputs in) {
+        var map = new TreeMap<IranianDate, Long>();
+        for (IranianDate date : in.dates) map.merge(date, 1L, Long::sum);
+        return map;
+    }
+
+    /** The counts of all the inputs in each kind of map */
+    @State(Scope.Thread)
+    public static class Maps {
+        IranianDateLongMap dateMap;
+        HashMap<IranianDate, Long> hashMap;
+        TreeMap<IranianDate, Long> treeMap;
+
+        @Setup(Level.Trial)
+        public void setup(Inputs in) {
+            var benchmark = new CollectionBenchmark();
+            dateMap = benchmark.dateMap(in);
+            hashMap = benchmark.hashMap(in);
+            treeMap = benchmark.treeMap(in);
+        }
+    }
+
+    @Benchmark
+    public long dateMapGet(Inputs in, Maps maps) {
+        return maps.dateMap.getOrDefault(in.dates[in.next()], 0);
+    }
+
+    @Benchmark
+    public Long hashMapGet(Inputs in, Maps maps) {
+        return maps.hashMap.get(in.dates[in.next()]);
+    }
+
+    @Benchmark
+    public Long treeMapGet(Inputs in, Maps maps) {
+        return maps.treeMap.get(in.dates[in.next()]);
+    }
+}
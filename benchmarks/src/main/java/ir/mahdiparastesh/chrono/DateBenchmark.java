@@ -0,0 +1,165 @@
+package ir.mahdiparastesh.chrono;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.chrono.ChronoPeriod;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot paths of IranianDate and IranianChronology, one input per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class DateBenchmark {
+
+    @Benchmark
+    public IranianDate of(Inputs in) {
+        int i = in.next();
+        return IranianDate.of(in.years[i], in.months[i], in.days[i]);
+    }
+
+    @Benchmark
+    public IranianDate ofYearDay(Inputs in) {
+        int i = in.next();
+        return IranianDate.ofYearDay(in.years[i], in.dayOfYears[i]);
+    }
+
+    @Benchmark
+    public int getDayOfYear(Inputs in) {
+        return in.dates[in.next()].getDayOfYear();
+    }
+
+    @Benchmark
+    public int monthOfYearDay(Inputs in) {
+        return IranianDate.monthOfYearDay(in.dayOfYears[in.next()]);
+    }
+
+    /** The loop which getDayOfYear() replaced, for comparison */
+    @Benchmark
+    public int getDayOfYearLoop(Inputs in) {
+        int i = in.next();
+        int doy = 0;
+        for (int m = 1; m < in.months[i]; m++)
+            doy += (m <= 6) ? 31 : 30;
+        return doy + in.days[i];
+    }
+
+    /** The loop which ofYearDay() replaced to find the month, for comparison */
+    @Benchmark
+    public int monthOfYearDayLoop(Inputs in) {
+        int dayOfYear = in.dayOfYears[in.next()];
+        int month = 1;
+        int maxDaysInMonth = 31;
+        while (dayOfYear > maxDaysInMonth) {
+            dayOfYear -= maxDaysInMonth;
+            month++;
+            maxDaysInMonth = (month < 7) ? 31 : 30;
+        }
+        return month;
+    }
+
+    @Benchmark
+    public IranianDate ofEpochDay(Inputs in) {
+        return IranianDate.ofEpochDay(in.epochDays[in.next()]);
+    }
+
+    /**
+     * The inputs come from ofEpochDay, which caches their epoch days, so the conversions run on
+     * fresh copies; subtract {@link #copy(Inputs)} from them.
+     */
+    @Benchmark
+    public IranianDate copy(Inputs in) {
+        return (IranianDate) in.dates[in.next()].clone();
+    }
+
+    @Benchmark
+    public long toEpochDay(Inputs in) {
+        return ((IranianDate) in.dates[in.next()].clone()).toEpochDay();
+    }
+
+    @Benchmark
+    public long toEpochDayPacked(Inputs in) {
+        return IranianDates.toEpochDay(in.packed[in.next()]);
+    }
+
+    @Benchmark
+    public IranianDate plusDays(Inputs in) {
+        int i = in.next();
+        return in.dates[i].plusDays(in.amounts[i]);
+    }
+
+    @Benchmark
+    public IranianDate plusMonths(Inputs in) {
+        int i = in.next();
+        return in.dates[i].plusMonths(in.amounts[i] / 10);
+    }
+
+    @Benchmark
+    public IranianDate plusPeriod(Inputs in) {
+        int i = in.next();
+        return in.dates[i].plus(in.periods[i]);
+    }
+
+    @Benchmark
+    public ChronoPeriod until(Inputs in) {
+        int i = in.next();
+        return in.dates[i].until(in.dates[(i + 1) & (Inputs.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public IranianYearMonth yearMonth(Inputs in) {
+        return IranianYearMonth.from(in.dates[in.next()]);
+    }
+
+    @Benchmark
+    public DayOfWeek getDayOfWeek(Inputs in) {
+        return ((IranianDate) in.dates[in.next()].clone()).getDayOfWeek();
+    }
+
+    @Benchmark
+    public DayOfWeek dayOfWeekPacked(Inputs in) {
+        return IranianDates.dayOfWeek(in.packed[in.next()]);
+    }
+
+    @Benchmark
+    public String toString(Inputs in) {
+        return in.dates[in.next()].toString();
+    }
+
+    @Benchmark
+    public boolean isLeapYear(Inputs in) {
+        return IranianChronology.INSTANCE.isLeapYear(in.years[in.next()]);
+    }
+
+    @Benchmark
+    public IranianDate date(Inputs in) {
+        return IranianChronology.INSTANCE.date(in.isoDates[in.next()]);
+    }
+
+    @Benchmark
+    public IranianDate ofEpochMilli(Inputs in) {
+        return IranianDate.ofEpochMilli(in.millis[in.next()], Inputs.TEHRAN);
+    }
+
+    /** A clock and a converter of the time-zone of the inputs */
+    @State(Scope.Thread)
+    public static class Tehran {
+        final Clock clock = Clock.system(Inputs.TEHRAN);
+        final IranianInstantConverter converter = new IranianInstantConverter(Inputs.TEHRAN);
+    }
+
+    @Benchmark
+    public IranianDate now(Tehran tehran) {
+        return IranianDate.now(tehran.clock);
+    }
+
+    @Benchmark
+    public int converter(Inputs in, Tehran tehran) {
+        return tehran.converter.packed(in.millis[in.next()]);
+    }
+}
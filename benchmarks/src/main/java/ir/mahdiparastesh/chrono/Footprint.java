@@ -0,0 +1,49 @@
+package ir.mahdiparastesh.chrono;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * The retained sizes of the date maps and of HashMap and TreeMap holding the same counts,
+ * which JMH cannot measure, in bytes per entry: for the inputs of the benchmarks, which are
+ * dense enough for the offset mode of IranianDateLongMap, and for as many sparse days
+ * over a million years, which are hashed.
+ * <p>
+ * {@code java -Djdk.attach.allowAttachSelf -cp benchmarks/target/benchmarks.jar ir.mahdiparastesh.chrono.Footprint}
+ */
+public class Footprint {
+
+    public static void main(String[] args) {
+        var inputs = new Inputs();
+        inputs.setup();
+        var random = new SplittableRandom(6404);
+        IranianDate[] sparse = new IranianDate[Inputs.SIZE];
+        for (int i = 0; i < sparse.length; i++)
+            sparse[i] = IranianDate.ofEpochDay(random.nextLong(-200_000_000L, 200_000_000L));
+
+        System.out.printf("%-28s %6s %10s %10s%n", "Map", "Entries", "Bytes", "B/entry");
+        for (var dates : new IranianDate[][]{inputs.dates, sparse}) {
+            var dateMap = new IranianDateLongMap();
+            var hashMap = new HashMap<IranianDate, Long>();
+            var treeMap = new TreeMap<IranianDate, Long>();
+            for (IranianDate date : dates) {
+                dateMap.addTo(date, 1);
+                hashMap.merge(date, 1L, Long::sum);
+                treeMap.merge(date, 1L, Long::sum);
+            }
+            String kind = dates == sparse ? " (sparse)" : " (dense)";
+            print("IranianDateLongMap" + kind, dateMap.size(), dateMap);
+            print("HashMap" + kind, hashMap.size(), hashMap);
+            print("TreeMap" + kind, treeMap.size(), treeMap);
+        }
+    }
+
+    /** Counts the keys and the boxed values too, as a map of dates would retain them. */
+    private static void print(String name, int entries, Object map) {
+        long bytes = GraphLayout.parseInstance(map).totalSize();
+        System.out.printf("%-28s %6d %10d %10.1f%n", name, entries, bytes, (double) bytes / entries);
+    }
+}
@@ -0,0 +1,63 @@
+package ir.mahdiparastesh.chrono;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Random dates within 10 years from {@code ANCHOR + distance}, which the benchmarks walk
+ * through one per invocation, so that branch prediction cannot learn a single input.
+ */
+@State(Scope.Thread)
+public class Inputs {
+
+    static final int ANCHOR = 6348;
+    static final int SIZE = 1 << 12;
+    static final ZoneId TEHRAN = ZoneId.of("Asia/Tehran");
+
+    @Param({"0", "1000", "-1000", "1000000", "-1000000"})
+    public int distance;
+
+    final long[] epochDays = new long[SIZE];
+    final int[] years = new int[SIZE], months = new int[SIZE], days = new int[SIZE];
+    final int[] dayOfYears = new int[SIZE], packed = new int[SIZE];
+    final long[] amounts = new long[SIZE];
+    final IranianDate[] dates = new IranianDate[SIZE];
+    final LocalDate[] isoDates = new LocalDate[SIZE];
+    final Period[] periods = new Period[SIZE];
+    /** Sorted timestamps of the same days, like those of an event log */
+    final long[] millis = new long[SIZE];
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var random = new SplittableRandom(distance);
+        long start = IranianChronology.yearStart(ANCHOR + distance);
+        long end = IranianChronology.yearStart(ANCHOR + distance + 10);
+        for (int i = 0; i < SIZE; i++) {
+            epochDays[i] = random.nextLong(start, end);
+            dates[i] = IranianDate.ofEpochDay(epochDays[i]);
+            years[i] = dates[i].get(YEAR);
+            months[i] = dates[i].get(MONTH_OF_YEAR);
+            days[i] = dates[i].get(DAY_OF_MONTH);
+            dayOfYears[i] = dates[i].getDayOfYear();
+            packed[i] = IranianDates.pack(years[i], months[i], days[i]);
+            amounts[i] = random.nextLong(-400, 400);
+            isoDates[i] = LocalDate.ofEpochDay(epochDays[i]);
+            periods[i] = Period.of((int) amounts[i] / 100, (int) amounts[i] / 10 % 12, (int) amounts[i] % 30);
+            millis[i] = epochDays[i] * 86_400_000L + random.nextLong(86_400_000L);
+        }
+        Arrays.sort(millis);
+    }
+
+    /** Index of the input of the next invocation */
+    int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+}
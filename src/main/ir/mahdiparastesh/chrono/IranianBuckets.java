@@ -0,0 +1,465 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.io.Serial;
+import java.time.ZoneId;
+import java.time.chrono.ChronoLocalDate;
+import java.util.Arrays;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Sums, counts, minimums and maximums of time series over Iranian weeks (starting on
+ * Saturday), months, quarters or years, without an object per sample.
+ * <p>
+ * The start days of all the periods from the first sample to the last are computed in
+ * advance, so that each sample is located by a range check against the period of its
+ * predecessor, falling back to an estimate by the average length of the periods in
+ * unsorted input.
+ * The buckets are dense: the periods without any samples have a count of 0 and, like
+ * {@link java.util.DoubleSummaryStatistics} and {@link LongSummaryStatistics}, a sum of 0 and
+ * the extreme opposite values as their minimums and maximums. Large inputs are split
+ * across the common {@link ForkJoinPool}, and each part only accumulates the buckets between
+ * its own first and last days, so that a single outlier doesn't inflate all the parts.
+ */
+@SuppressWarnings("unused")
+public abstract sealed class IranianBuckets permits IranianBuckets.OfDouble, IranianBuckets.OfLong {
+
+    /** Number of samples below which an input isn't split any further */
+    private static final int THRESHOLD = 1 << 16;
+
+    public enum Unit {
+        /** Weeks starting on Saturday */
+        WEEK(0),
+        MONTH(1),
+        QUARTER(3),
+        YEAR(12);
+
+        private final int months;
+        /** Number of periods per day on average, which estimates the bucket of a day */
+        private final double frequency;
+
+        Unit(int months) {
+            this.months = months;
+            this.frequency = months == 0 ? 1 / 7.0 : 12 / (months * 365.2422);
+        }
+    }
+
+    final Unit unit;
+    /** Start days of the buckets, followed by the end of the last one */
+    final long[] bounds;
+    final long[] counts;
+
+    IranianBuckets(Unit unit, long[] bounds, long[] counts) {
+        this.unit = unit;
+        this.bounds = bounds;
+        this.counts = counts;
+    }
+
+
+    //-------------------------BUILDERS--------------------------------------
+
+    /**
+     * @throws IllegalArgumentException if the arrays aren't of the same length
+     */
+    public static OfDouble ofEpochDays(Unit unit, long[] epochDays, double[] values) {
+        checkLengths(epochDays.length, values.length);
+        long[] bounds = bounds(unit, epochDays);
+        Partial p = split(epochDays, values, null, unit, bounds);
+        return new OfDouble(unit, bounds, p.counts, p.doubleSums, p.doubleMins, p.doubleMaxs);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the arrays aren't of the same length
+     */
+    public static OfLong ofEpochDays(Unit unit, long[] epochDays, long[] values) {
+        checkLengths(epochDays.length, values.length);
+        long[] bounds = bounds(unit, epochDays);
+        Partial p = split(epochDays, null, values, unit, bounds);
+        return new OfLong(unit, bounds, p.counts, p.longSums, p.longMins, p.longMaxs);
+    }
+
+    /**
+     * Buckets the samples by the dates of their timestamps in a time-zone.
+     *
+     * @throws IllegalArgumentException if the arrays aren't of the same length
+     * @see IranianInstantConverter
+     */
+    public static OfDouble ofEpochMillis(Unit unit, ZoneId zone, long[] epochMillis, double[] values) {
+        checkLengths(epochMillis.length, values.length);
+        return ofEpochDays(unit, toEpochDays(zone, epochMillis), values);
+    }
+
+    /**
+     * @see #ofEpochMillis(Unit, ZoneId, long[], double[])
+     */
+    public static OfLong ofEpochMillis(Unit unit, ZoneId zone, long[] epochMillis, long[] values) {
+        checkLengths(epochMillis.length, values.length);
+        return ofEpochDays(unit, toEpochDays(zone, epochMillis), values);
+    }
+
+    private static void checkLengths(int timestamps, int values) {
+        if (timestamps != values)
+            throw new IllegalArgumentException(timestamps + " timestamps but " + values + " values");
+    }
+
+    /** Converts the timestamps in chunks, each through a converter of its own. */
+    private static long[] toEpochDays(ZoneId zone, long[] epochMillis) {
+        long[] epochDays = new long[epochMillis.length];
+        int chunks = (epochMillis.length + THRESHOLD - 1) / THRESHOLD;
+        IntStream stream = IntStream.range(0, chunks);
+        (chunks > 1 ? stream.parallel() : stream).forEach(c -> {
+            int from = c * THRESHOLD, length = Math.min(THRESHOLD, epochMillis.length - from);
+            new IranianInstantConverter(zone).fromEpochMillis(epochMillis, from, epochDays, from, length);
+        });
+        return epochDays;
+    }
+
+
+    //-------------------------BOUNDS----------------------------------------
+
+    private static long[] bounds(Unit unit, long[] epochDays) {
+        if (epochDays.length == 0)
+            return new long[1];
+        LongStream stream = Arrays.stream(epochDays);
+        LongSummaryStatistics stats =
+                (epochDays.length > THRESHOLD ? stream.parallel() : stream).summaryStatistics();
+        return bounds(unit, stats.getMin(), stats.getMax());
+    }
+
+    /** Start days of the periods from the one containing {@code min} to the one after {@code max} */
+    static long[] bounds(Unit unit, long min, long max) {
+        if (unit == Unit.WEEK) {
+            long first = min - Math.floorMod(min - 2, 7);  // 1970-01-03 was a Saturday
+            long[] bounds = new long[size((max - first) / 7 + 1)];
+            for (int i = 0; i < bounds.length; i++)
+                bounds[i] = first + 7L * i;
+            return bounds;
+        }
+        int first = IranianDates.fromEpochDay(min), last = IranianDates.fromEpochDay(max);
+        long firstPeriod = Math.floorDiv(
+                IranianDates.year(first) * 12L + IranianDates.month(first) - 1, unit.months);
+        long lastPeriod = Math.floorDiv(
+                IranianDates.year(last) * 12L + IranianDates.month(last) - 1, unit.months);
+        long[] bounds = new long[size(lastPeriod - firstPeriod + 1)];
+        long yearStart = 0;
+        int year = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            long prolepticMonth = (firstPeriod + i) * unit.months;
+            int y = (int) Math.floorDiv(prolepticMonth, 12);
+            if (y != year || i == 0) {
+                year = y;
+                yearStart = IranianChronology.yearStart(y);
+            }
+            bounds[i] = yearStart + IranianDate.DAYS_BEFORE_MONTH[Math.floorMod(prolepticMonth, 12)];
+        }
+        return bounds;
+    }
+
+    /** Size of the bounds for a number of buckets */
+    private static int size(long buckets) {
+        if (buckets >= Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many buckets: " + buckets);
+        return (int) buckets + 1;
+    }
+
+
+    //-------------------------ACCUMULATION----------------------------------
+
+    /**
+     * Accumulators of a part of the input over the buckets from {@code offset} on;
+     * only those of the type of the values are present.
+     */
+    private static final class Partial {
+        final int offset;
+        final long[] counts;
+        double[] doubleSums, doubleMins, doubleMaxs;
+        long[] longSums, longMins, longMaxs;
+
+        Partial(int offset, int size, boolean doubles) {
+            this.offset = offset;
+            counts = new long[size];
+            if (doubles) {
+                doubleSums = new double[size];
+                doubleMins = new double[size];
+                doubleMaxs = new double[size];
+                Arrays.fill(doubleMins, Double.POSITIVE_INFINITY);
+                Arrays.fill(doubleMaxs, Double.NEGATIVE_INFINITY);
+            } else {
+                longSums = new long[size];
+                longMins = new long[size];
+                longMaxs = new long[size];
+                Arrays.fill(longMins, Long.MAX_VALUE);
+                Arrays.fill(longMaxs, Long.MIN_VALUE);
+            }
+        }
+
+        /**
+         * Merges two parts into the one whose buckets cover both, or into a new one
+         * if neither does.
+         */
+        Partial merge(Partial other) {
+            if (covers(other)) return add(other);
+            if (other.covers(this)) return other.add(this);
+            int from = Math.min(offset, other.offset),
+                    to = Math.max(offset + counts.length, other.offset + other.counts.length);
+            return new Partial(from, to - from, doubleSums != null).add(this).add(other);
+        }
+
+        private boolean covers(Partial other) {
+            return offset <= other.offset && offset + counts.length >= other.offset + other.counts.length;
+        }
+
+        /** Adds a part whose buckets are within those of this one. */
+        private Partial add(Partial other) {
+            for (int b = 0, t = other.offset - offset; b < other.counts.length; b++, t++) {
+                if (other.counts[b] == 0) continue;
+                counts[t] += other.counts[b];
+                if (doubleSums != null) {
+                    doubleSums[t] += other.doubleSums[b];
+                    doubleMins[t] = Math.min(doubleMins[t], other.doubleMins[b]);
+                    doubleMaxs[t] = Math.max(doubleMaxs[t], other.doubleMaxs[b]);
+                } else {
+                    longSums[t] += other.longSums[b];
+                    longMins[t] = Math.min(longMins[t], other.longMins[b]);
+                    longMaxs[t] = Math.max(longMaxs[t], other.longMaxs[b]);
+                }
+            }
+            return this;
+        }
+    }
+
+    private static Partial split(long[] epochDays, double[] doubles, long[] longs, Unit unit, long[] bounds) {
+        int parts = ForkJoinPool.getCommonPoolParallelism() * 4;
+        int threshold = Math.max(THRESHOLD, epochDays.length / parts + 1);
+        var task = new Task(epochDays, doubles, longs, unit, bounds, threshold, 0, epochDays.length);
+        // the parts together cover all the buckets, as the bounds span from the first day to the last
+        return epochDays.length > threshold ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+    }
+
+    private static final class Task extends RecursiveTask<Partial> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long[] epochDays;
+        private final double[] doubles;
+        private final long[] longs;
+        private final Unit unit;
+        private final long[] bounds;
+        private final int threshold, from, to;
+
+        Task(long[] epochDays, double[] doubles, long[] longs, Unit unit, long[] bounds,
+             int threshold, int from, int to) {
+            this.epochDays = epochDays;
+            this.doubles = doubles;
+            this.longs = longs;
+            this.unit = unit;
+            this.bounds = bounds;
+            this.threshold = threshold;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > threshold) {
+                int mid = (from + to) >>> 1;
+                var left = new Task(epochDays, doubles, longs, unit, bounds, threshold, from, mid);
+                left.fork();
+                Partial right = new Task(epochDays, doubles, longs, unit, bounds, threshold, mid, to).compute();
+                return left.join().merge(right);
+            }
+            if (from == to)
+                return new Partial(0, bounds.length - 1, doubles != null);
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, epochDays[i]);
+                max = Math.max(max, epochDays[i]);
+            }
+            int first = bucket(min);
+            var p = new Partial(first, bucket(max) - first + 1, doubles != null);
+            long start = 1, end = 0;  // bounds of the last bucket
+            int b = 0;
+            for (int i = from; i < to; i++) {
+                long d = epochDays[i];
+                if (d < start || d >= end) {
+                    start = bounds[b = bucket(d)];
+                    end = bounds[b + 1];
+                    b -= first;
+                }
+                p.counts[b]++;
+                if (doubles != null) {
+                    double v = doubles[i];
+                    p.doubleSums[b] += v;
+                    p.doubleMins[b] = Math.min(p.doubleMins[b], v);
+                    p.doubleMaxs[b] = Math.max(p.doubleMaxs[b], v);
+                } else {
+                    long v = longs[i];
+                    p.longSums[b] += v;
+                    p.longMins[b] = Math.min(p.longMins[b], v);
+                    p.longMaxs[b] = Math.max(p.longMaxs[b], v);
+                }
+            }
+            return p;
+        }
+
+        /** Estimates the bucket by the average length of the periods and corrects it by a step or two. */
+        private int bucket(long epochDay) {
+            int i = (int) Math.min((long) ((epochDay - bounds[0]) * unit.frequency), bounds.length - 2);
+            while (bounds[i] > epochDay) i--;
+            while (bounds[i + 1] <= epochDay) i++;
+            return i;
+        }
+    }
+
+
+    //-------------------------GETTERS---------------------------------------
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /** Number of the buckets */
+    public int size() {
+        return counts.length;
+    }
+
+    public long startEpochDay(int bucket) {
+        return bounds[Objects.checkIndex(bucket, counts.length)];
+    }
+
+    /** Epoch day of the first day after the bucket */
+    public long endEpochDay(int bucket) {
+        return bounds[Objects.checkIndex(bucket, counts.length) + 1];
+    }
+
+    /** The first day of the period of the bucket */
+    public IranianDate getStart(int bucket) {
+        return IranianDate.ofEpochDay(startEpochDay(bucket));
+    }
+
+    /** Index of the bucket containing the date, or -1 if it's out of all the buckets */
+    public int indexOf(ChronoLocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (counts.length == 0 || epochDay < bounds[0] || epochDay >= bounds[counts.length])
+            return -1;
+        int i = Arrays.binarySearch(bounds, epochDay);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    public long count(int bucket) {
+        return counts[bucket];
+    }
+
+    public long[] counts() {
+        return counts.clone();
+    }
+
+
+    /** Buckets of {@code double} values */
+    public static final class OfDouble extends IranianBuckets {
+        private final double[] sums, mins, maxs;
+
+        OfDouble(Unit unit, long[] bounds, long[] counts, double[] sums, double[] mins, double[] maxs) {
+            super(unit, bounds, counts);
+            this.sums = sums;
+            this.mins = mins;
+            this.maxs = maxs;
+        }
+
+        public double sum(int bucket) {
+            return sums[bucket];
+        }
+
+        public double min(int bucket) {
+            return mins[bucket];
+        }
+
+        public double max(int bucket) {
+            return maxs[bucket];
+        }
+
+        /** The mean of the values of the bucket, or 0 if it's empty */
+        public double average(int bucket) {
+            return counts[bucket] > 0 ? sums[bucket] / counts[bucket] : 0;
+        }
+
+        public double[] sums() {
+            return sums.clone();
+        }
+
+        public double[] mins() {
+            return mins.clone();
+        }
+
+        public double[] maxs() {
+            return maxs.clone();
+        }
+    }
+
+    /** Buckets of {@code long} values; the sums overflow silently like {@link LongSummaryStatistics}. */
+    public static final class OfLong extends IranianBuckets {
+        private final long[] sums, mins, maxs;
+
+        OfLong(Unit unit, long[] bounds, long[] counts, long[] sums, long[] mins, long[] maxs) {
+            super(unit, bounds, counts);
+            this.sums = sums;
+            this.mins = mins;
+            this.maxs = maxs;
+        }
+
+        public long sum(int bucket) {
+            return sums[bucket];
+        }
+
+        public long min(int bucket) {
+            return mins[bucket];
+        }
+
+        public long max(int bucket) {
+            return maxs[bucket];
+        }
+
+        /** The mean of the values of the bucket, or 0 if it's empty */
+        public double average(int bucket) {
+            return counts[bucket] > 0 ? (double) sums[bucket] / counts[bucket] : 0;
+        }
+
+        public long[] sums() {
+            return sums.clone();
+        }
+
+        public long[] mins() {
+            return mins.clone();
+        }
+
+        public long[] maxs() {
+            return maxs.clone();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.chrono.ChronoLocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An immutable calendar of business days, which are the days out of a weekly weekend (Friday
+ * by default) and out of a set of holidays. The holidays are kept as a bitset of epoch days
+ * with the running count of each 64-bit word, so that the business days before any day are
+ * counted in constant time; adding business days searches through those counts in
+ * logarithmic time. It can be shared between threads.
+ * <p>
+ * {@link Builder#load(Reader)} reads holidays in the format of {@link IranianDate#toString()},
+ * one per line; blank lines and those which start with {@code #} are ignored.
+ */
+@SuppressWarnings("unused")
+public final class IranianBusinessCalendar {
+
+    /** Number of business days before each day of week, indexed by the epoch day modulo 7 */
+    private final int[] weekPrefix = new int[8];
+    private final Set<DayOfWeek> weekend;
+    /** Epoch day of bit 0 */
+    private final long base;
+    /** The holidays which fall on a working day of week */
+    private final long[] bits;
+    private final int[] counts;
+    private final int holidays;
+
+    private IranianBusinessCalendar(Set<DayOfWeek> weekend, long[] holidays) {
+        this.weekend = weekend;
+        for (int i = 0; i < 7; i++)  // the epoch day 0 is a Thursday
+            weekPrefix[i + 1] = weekPrefix[i] + (weekend.contains(DayOfWeek.THURSDAY.plus(i)) ? 0 : 1);
+
+        long[] days = Arrays.stream(holidays).filter(this::isWorkingDayOfWeek).sorted().distinct().toArray();
+        this.holidays = days.length;
+        base = days.length == 0 ? 0 : days[0];
+        bits = new long[days.length == 0 ? 0 : Math.toIntExact((days[days.length - 1] - base) >>> 6) + 1];
+        for (long day : days)
+            bits[(int) ((day - base) >>> 6)] |= 1L << (day - base);
+        counts = new int[bits.length + 1];
+        for (int w = 0; w < bits.length; w++)
+            counts[w + 1] = counts[w] + Long.bitCount(bits[w]);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    //-------------------------QUERIES---------------------------------------
+
+    public Set<DayOfWeek> getWeekend() {
+        return weekend;
+    }
+
+    public boolean isBusinessDay(ChronoLocalDate date) {
+        long epochDay = date.toEpochDay();
+        return isWorkingDayOfWeek(epochDay) && !isHoliday(epochDay);
+    }
+
+    /** Number of the business days within [startInclusive, endExclusive), negative if reversed */
+    public long businessDaysBetween(ChronoLocalDate startInclusive, ChronoLocalDate endExclusive) {
+        return businessDaysBefore(endExclusive.toEpochDay()) - businessDaysBefore(startInclusive.toEpochDay());
+    }
+
+    /**
+     * The {@code days}th business day after {@code date}, or before it if negative,
+     * where {@code date} itself is never counted; zero returns {@code date} as it is.
+     */
+    public IranianDate addBusinessDays(ChronoLocalDate date, long days) {
+        long epochDay = date.toEpochDay();
+        if (days == 0)
+            return IranianChronology.INSTANCE.date(date);
+        long n = days > 0
+                ? businessDaysBefore(epochDay + 1) + days
+                : businessDaysBefore(epochDay) + days + 1;
+        return IranianDate.ofEpochDay(nthBusinessDay(n));
+    }
+
+
+    //-------------------------INTERNALS-------------------------------------
+
+    private boolean isWorkingDayOfWeek(long epochDay) {
+        int i = (int) Math.floorMod(epochDay, 7L);
+        return weekPrefix[i + 1] != weekPrefix[i];
+    }
+
+    private boolean isHoliday(long epochDay) {
+        long i = epochDay - base;
+        return i >= 0 && i < (long) bits.length << 6 && (bits[(int) (i >>> 6)] & (1L << i)) != 0;
+    }
+
+    /** Number of the holidays on working days of week before {@code epochDay} */
+    private long holidaysBefore(long epochDay) {
+        long i = epochDay - base;
+        if (i <= 0)
+            return 0;
+        if (i >= (long) bits.length << 6)
+            return holidays;
+        int w = (int) (i >>> 6);
+        return counts[w] + Long.bitCount(bits[w] & ((1L << i) - 1));
+    }
+
+    /** Number of the working days of week before {@code epochDay}, counted from the epoch day 0 */
+    private long workingDaysBefore(long epochDay) {
+        return Math.floorDiv(epochDay, 7L) * weekPrefix[7] + weekPrefix[(int) Math.floorMod(epochDay, 7L)];
+    }
+
+    private long businessDaysBefore(long epochDay) {
+        return workingDaysBefore(epochDay) - holidaysBefore(epochDay);
+    }
+
+    /** The smallest epoch day before which there are {@code n} working days of week */
+    private long nthWorkingDayEnd(long n) {
+        long weeks = Math.floorDiv(n - 1, weekPrefix[7]);
+        long rest = n - weeks * weekPrefix[7];
+        int i = 1;
+        while (weekPrefix[i] < rest) i++;
+        return weeks * 7 + i;
+    }
+
+    /** The business day before which there are {@code n - 1} business days */
+    private long nthBusinessDay(long n) {
+        // The holidays before any lower bound postpone the day at least by as many working days,
+        // which gives a greater lower bound until none are left; that usually takes a few rounds,
+        // otherwise it's found by bisection, as the holidays cannot postpone it any further than
+        // the working days they all take.
+        long lo = nthWorkingDayEnd(n);
+        for (int round = 0; round < 8; round++) {
+            long next = nthWorkingDayEnd(n + holidaysBefore(lo));
+            if (next == lo)
+                return lo - 1;
+            lo = next;
+        }
+        long hi = nthWorkingDayEnd(n + holidays);
+        while (lo < hi) {
+            long mid = lo + (hi - lo) / 2;
+            if (businessDaysBefore(mid) >= n) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo - 1;
+    }
+
+
+    public static final class Builder {
+        private final Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.FRIDAY);
+        private long[] holidays = new long[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder weekend(DayOfWeek... days) {
+            weekend.clear();
+            weekend.addAll(Arrays.asList(days));
+            return this;
+        }
+
+        public Builder holiday(ChronoLocalDate date) {
+            if (size == holidays.length)
+                holidays = Arrays.copyOf(holidays, size * 2);
+            holidays[size++] = date.toEpochDay();
+            return this;
+        }
+
+        public Builder holidays(Iterable<? extends ChronoLocalDate> dates) {
+            for (ChronoLocalDate date : dates)
+                holiday(date);
+            return this;
+        }
+
+        public Builder load(Reader reader) throws IOException {
+            var lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+            String line;
+            for (int number = 1; (line = lines.readLine()) != null; number++) {
+                String text = line.strip();
+                if (text.isEmpty() || text.startsWith("#"))
+                    continue;
+                try {
+                    holiday(IranianDateFormat.parse(text));
+                } catch (DateTimeParseException e) {
+                    throw new DateTimeParseException("Line " + number + ": " + e.getMessage(),
+                            e.getParsedString(), e.getErrorIndex(), e);
+                }
+            }
+            return this;
+        }
+
+        public Builder load(Path path) throws IOException {
+            try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return load(reader);
+            }
+        }
+
+        public IranianBusinessCalendar build() {
+            if (weekend.size() == 7)
+                throw new IllegalStateException("The whole week cannot be the weekend!");
+            return new IranianBusinessCalendar(
+                    Collections.unmodifiableSet(EnumSet.copyOf(weekend)), Arrays.copyOf(holidays, size));
+        }
+    }
+}
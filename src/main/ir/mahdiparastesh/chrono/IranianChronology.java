@@ -22,6 +22,8 @@
 
 package ir.mahdiparastesh.chrono;
 
+import java.time.Clock;
+import java.time.ZoneId;
 import java.time.chrono.AbstractChronology;
 import java.time.chrono.Era;
 import java.time.temporal.ChronoField;
@@ -34,8 +36,36 @@ public class IranianChronology extends AbstractChronology {
 
     public static final IranianChronology INSTANCE = new IranianChronology();
 
+    /**
+     * Fraction of the leap years (683/2820) in the original floating-point rule:
+     * {@code ((prolepticYear - 2654) * LEAP_THRESHOLD % 1) < LEAP_THRESHOLD}.
+     * That rule is reproduced with integers by {@link #isLeapYear(long)}, except for
+     * the years exactly on the threshold (2655 + 2820n), whose outcome only depends on
+     * how the double product is rounded. Past about 2^43 years from 2654, doubles
+     * cannot hold the fraction any longer and the original rule degrades into noise,
+     * but those years are far beyond {@link ChronoField#YEAR}.
+     */
     private static final double LEAP_THRESHOLD = 0.24219858156028368;
 
+    /**
+     * Leap years recur in cycles of 2820 years since 2654; the k-th bit is set if
+     * the k-th year of a cycle is leap, that is if (683k mod 2820) < 683.
+     */
+    private static final long[] LEAP_CYCLE = new long[(2820 + 63) >>> 6];
+
+    static {
+        for (int k = 0; k < 2820; k++)
+            if (683 * k % 2820 < 683)
+                LEAP_CYCLE[k >>> 6] |= 1L << k;
+    }
+
+    /** Epoch day of 1 Farvardin 6348 (1969-03-21) */
+    private static final long EPOCH_DAY_6348 = -286L;
+    /** Epoch day of 1 Farvardin 2654 */
+    private static final long EPOCH_DAY_2654 = -1349492L;
+    /** leapYearsBefore(6348) */
+    private static final long LEAP_YEARS_6348 = 896L;
+
     @Override
     public String getId() {
         return "Iranian";
@@ -61,16 +91,112 @@ public class IranianChronology extends AbstractChronology {
         return IranianDate.ofEpochDay(epochDay);
     }
 
+    @Override
+    public IranianDate dateNow() {
+        return IranianDate.now();
+    }
+
+    @Override
+    public IranianDate dateNow(ZoneId zone) {
+        return IranianDate.now(zone);
+    }
+
+    @Override
+    public IranianDate dateNow(Clock clock) {
+        return IranianDate.now(clock);
+    }
+
     @Override
     public IranianDate date(TemporalAccessor temporal) {
+        if (IranianMetrics.ENABLED) {
+            long start = System.nanoTime();
+            long epochDay = temporal.getLong(ChronoField.EPOCH_DAY);
+            IranianDate date = dateEpochDay(epochDay);
+            IranianMetrics.chronologyDate(temporal.getClass(), epochDay, start);
+            return date;
+        }
         return dateEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
     }
 
     @Override
     public boolean isLeapYear(long prolepticYear) {
+        long k = prolepticYear - 2654;
+        if (k < 0)  // a negative remainder is always below the threshold
+            return true;
+        int r = (int) (k % 2820);
+        if (r == 1)
+            return isThresholdLeapYear(prolepticYear);
+        return (LEAP_CYCLE[r >>> 6] & (1L << r)) != 0;
+    }
+
+    /**
+     * The original floating-point rule, which is only consulted for the years 2655 + 2820n.
+     */
+    private static boolean isThresholdLeapYear(long prolepticYear) {
         return ((prolepticYear - 2654) * LEAP_THRESHOLD % 1) < LEAP_THRESHOLD;
     }
 
+    /**
+     * Counts the leap years within [2654, prolepticYear), or the negated count of
+     * those within [prolepticYear, 2654) for earlier years, in agreement with
+     * {@link #isLeapYear(long)}; each full cycle adds 683 leap years.
+     */
+    static long leapYearsBefore(long prolepticYear) {
+        long k = prolepticYear - 2654;
+        if (k <= 0)  // all the years before 2654 are leap
+            return k;
+        return Math.floorDiv(683L * (k - 1), 2820) + 1 + ThresholdYears.leapsUpTo((k - 2) / 2820);
+    }
+
+    /**
+     * Epoch day of the 1st of Farvardin of the given year.
+     */
+    static long yearStart(long prolepticYear) {
+        if (prolepticYear >= YearStarts.MIN && prolepticYear <= YearStarts.MAX + 1)
+            return YearStarts.TABLE[(int) (prolepticYear - YearStarts.MIN)];
+        if (IranianMetrics.ENABLED) IranianMetrics.slowToEpochDay(prolepticYear);
+        return computeYearStart(prolepticYear);
+    }
+
+    private static long computeYearStart(long prolepticYear) {
+        return EPOCH_DAY_6348 + 365L * (prolepticYear - 6348)
+                + (leapYearsBefore(prolepticYear) - LEAP_YEARS_6348);
+    }
+
+    /**
+     * The year which contains the given epoch day, which must be within the range of
+     * {@link ChronoField#YEAR}.
+     */
+    static long yearOfEpochDay(long epochDay) {
+        int[] starts = YearStarts.TABLE;
+        if (epochDay >= starts[0] && epochDay < starts[starts.length - 1]) {
+            int i = (int) Math.min((epochDay - starts[0]) * 2820 / 1029983, starts.length - 2);
+            while (starts[i] > epochDay) i--;
+            while (starts[i + 1] <= epochDay) i++;
+            return YearStarts.MIN + i;
+        }
+
+        if (epochDay < EPOCH_DAY_2654) {  // all the years before 2654 are leap
+            long y = 2654 + Math.floorDiv(epochDay - EPOCH_DAY_2654, 366);
+            if (IranianMetrics.ENABLED) IranianMetrics.slowFromEpochDay(epochDay, y, 0);
+            return y;
+        }
+
+        // estimate the year by the mean year length (1029983 / 2820 days), then correct it
+        long y = 6348 + Math.floorDiv((epochDay - EPOCH_DAY_6348) * 2820, 1029983);  // no overflow
+        for (int iterations = 1; ; iterations++) {
+            long start = computeYearStart(y);
+            if (start > epochDay)
+                y -= (start - epochDay + 365) / 366;
+            else if (computeYearStart(y + 1) <= epochDay)
+                y += Math.max(1, (epochDay - start) / 366);
+            else {
+                if (IranianMetrics.ENABLED) IranianMetrics.slowFromEpochDay(epochDay, y, iterations);
+                return y;
+            }
+        }
+    }
+
     @Override
     public int prolepticYear(Era era, int yearOfEra) {
         return yearOfEra;
@@ -95,6 +221,55 @@ public class IranianChronology extends AbstractChronology {
         };
     }
 
+    /**
+     * Epoch days of the first days of the years within a window, which is 5000-8000 by
+     * default and can be changed via the system properties
+     * {@code ir.mahdiparastesh.chrono.yearStarts.min} and {@code ...max}; it is built on
+     * first use, counting the year lengths from 6348 (about 12 KB by default).
+     * The window is narrowed down to where the epoch days fit in an int.
+     */
+    private static final class YearStarts {
+        private static final int MIN = Math.max(
+                Integer.getInteger("ir.mahdiparastesh.chrono.yearStarts.min", 5000), 6348 - 5_000_000);
+        private static final int MAX = Math.max(Math.min(
+                Integer.getInteger("ir.mahdiparastesh.chrono.yearStarts.max", 8000), 6348 + 5_000_000), MIN - 1);
+        /** TABLE[y - MIN] is the start of y, for y in [MIN, MAX + 1] */
+        private static final int[] TABLE = new int[MAX - MIN + 2];
+
+        static {
+            int anchor = Math.clamp(6348, MIN, MAX + 1);
+            TABLE[anchor - MIN] = (int) (anchor == 6348 ? EPOCH_DAY_6348 : computeYearStart(anchor));
+            for (int y = anchor; y <= MAX; y++)
+                TABLE[y - MIN + 1] = TABLE[y - MIN] + (INSTANCE.isLeapYear(y) ? 366 : 365);
+            for (int y = anchor - 1; y >= MIN; y--)
+                TABLE[y - MIN] = TABLE[y - MIN + 1] - (INSTANCE.isLeapYear(y) ? 366 : 365);
+        }
+    }
+
+    /**
+     * About two thirds of the years 2655 + 2820n are rounded into leap years by the
+     * original rule, the first one being 5475. Their prefix counts are built lazily.
+     */
+    private static final class ThresholdYears {
+        private static final int SIZE = (int) ((1_000_000_000L - 2654 - 2) / 2820) + 1;
+        private static final long[] BITS = new long[(SIZE + 63) >>> 6];
+        private static final int[] COUNTS = new int[BITS.length];
+
+        static {
+            for (int n = 1; n < SIZE; n++)
+                if (isThresholdLeapYear(2655 + 2820L * n))
+                    BITS[n >>> 6] |= 1L << n;
+            for (int w = 1; w < BITS.length; w++)
+                COUNTS[w] = COUNTS[w - 1] + Long.bitCount(BITS[w - 1]);
+        }
+
+        /** Number of leap years among 2655 + 2820i for i in [0, n] */
+        static long leapsUpTo(long n) {
+            int i = (int) Math.min(n, SIZE - 1);
+            return COUNTS[i >>> 6] + Long.bitCount(BITS[i >>> 6] & (-1L >>> (63 - (i & 63))));
+        }
+    }
+
     public static class EraNotSupportedException
             extends UnsupportedTemporalTypeException {
         private static final String msg = "Eras are not supported.";
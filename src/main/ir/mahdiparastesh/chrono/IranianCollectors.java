@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static java.time.temporal.ChronoField.EPOCH_DAY;
+
+/**
+ * Collectors which convert dates of any chronology (or plain epoch days) into Iranian dates,
+ * or group them by their Iranian years, months or weeks (starting on Saturday).
+ * The containers of the groupings remember the bounds of the last period, so the elements
+ * that come in order are grouped without any conversion or map lookup.
+ */
+@SuppressWarnings("unused")
+public final class IranianCollectors {
+
+    private IranianCollectors() {
+    }
+
+    public static Collector<TemporalAccessor, ?, List<IranianDate>> toIranianDates() {
+        return Collectors.mapping(IranianChronology.INSTANCE::date, Collectors.toList());
+    }
+
+    /**
+     * Groups the elements by their Iranian years.
+     */
+    public static <T extends TemporalAccessor, A, D> Collector<T, ?, Map<Integer, D>>
+    groupingByYear(Collector<? super T, A, D> downstream) {
+        return groupingByYear(IranianCollectors::epochDayOf, downstream);
+    }
+
+    /**
+     * Groups the elements by the Iranian years of the epoch days extracted from them.
+     */
+    public static <T, A, D> Collector<T, ?, Map<Integer, D>>
+    groupingByYear(ToLongFunction<? super T> epochDay, Collector<? super T, A, D> downstream) {
+        return grouping(epochDay, downstream, (d, g) -> {
+            int year = (int) IranianChronology.yearOfEpochDay(d);
+            g.start = IranianChronology.yearStart(year);
+            g.end = IranianChronology.yearStart(year + 1L);
+            return year;
+        });
+    }
+
+    /**
+     * Groups the elements by their Iranian months, which are represented by their first days.
+     */
+    public static <T extends TemporalAccessor, A, D> Collector<T, ?, Map<IranianDate, D>>
+    groupingByMonth(Collector<? super T, A, D> downstream) {
+        return groupingByMonth(IranianCollectors::epochDayOf, downstream);
+    }
+
+    /**
+     * Groups the elements by the Iranian months of the epoch days extracted from them,
+     * which are represented by their first days.
+     */
+    public static <T, A, D> Collector<T, ?, Map<IranianDate, D>>
+    groupingByMonth(ToLongFunction<? super T> epochDay, Collector<? super T, A, D> downstream) {
+        return grouping(epochDay, downstream, (d, g) -> {
+            IranianDate first = IranianDate.ofEpochDay(d).withDayOfMonth(1);
+            g.start = first.toEpochDay();
+            g.end = g.start + first.lengthOfMonth();
+            return first;
+        });
+    }
+
+    /**
+     * Groups the elements by their Iranian weeks, which are represented by their Saturdays.
+     */
+    public static <T extends TemporalAccessor, A, D> Collector<T, ?, Map<IranianDate, D>>
+    groupingByWeek(Collector<? super T, A, D> downstream) {
+        return groupingByWeek(IranianCollectors::epochDayOf, downstream);
+    }
+
+    /**
+     * Groups the elements by the Iranian weeks of the epoch days extracted from them,
+     * which are represented by their Saturdays.
+     */
+    public static <T, A, D> Collector<T, ?, Map<IranianDate, D>>
+    groupingByWeek(ToLongFunction<? super T> epochDay, Collector<? super T, A, D> downstream) {
+        return grouping(epochDay, downstream, (d, g) -> {
+            g.start = d - Math.floorMod(d - 2, 7);  // 1970-01-03 was a Saturday
+            g.end = g.start + 7;
+            return IranianDate.ofEpochDay(g.start);
+        });
+    }
+
+    private static long epochDayOf(TemporalAccessor temporal) {
+        return temporal.getLong(EPOCH_DAY);
+    }
+
+
+    //-------------------------GROUPING--------------------------------------
+
+    /**
+     * Finds the key of the period containing an epoch day and sets the bounds of that
+     * period in the grouping.
+     */
+    private interface Period<K> {
+        K locate(long epochDay, Grouping<K, ?> grouping);
+    }
+
+    private static final class Grouping<K, A> {
+        final HashMap<K, A> map = new HashMap<>();
+        long start, end;  // bounds of the last period
+        A current;  // container of the last period
+    }
+
+    private static <T, K, A, D> Collector<T, ?, Map<K, D>> grouping(
+            ToLongFunction<? super T> epochDay, Collector<? super T, A, D> downstream, Period<K> period) {
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+
+        BiConsumer<Grouping<K, A>, T> accumulator = (g, t) -> {
+            long d = epochDay.applyAsLong(t);
+            if (d < g.start || d >= g.end)
+                g.current = g.map.computeIfAbsent(period.locate(d, g), k -> downstreamSupplier.get());
+            downstreamAccumulator.accept(g.current, t);
+        };
+        BinaryOperator<Grouping<K, A>> combiner = (left, right) -> {
+            right.map.forEach((k, v) -> left.map.merge(k, v, downstreamCombiner));
+            left.start = left.end = 0;  // the merged container may have been replaced
+            return left;
+        };
+        Function<Grouping<K, A>, Map<K, D>> finisher = g -> {
+            var result = new HashMap<K, D>(g.map.size() * 4 / 3 + 1);
+            Function<A, D> downstreamFinisher = downstream.finisher();
+            g.map.forEach((k, v) -> result.put(k, downstreamFinisher.apply(v)));
+            return result;
+        };
+        return Collector.of(Grouping::new, accumulator, combiner, finisher);
+    }
+}
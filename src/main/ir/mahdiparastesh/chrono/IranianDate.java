@@ -23,26 +23,53 @@
 package ir.mahdiparastesh.chrono;
 
 import java.io.*;
+import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.chrono.ChronoLocalDate;
 import java.time.chrono.ChronoPeriod;
 import java.time.chrono.Chronology;
 import java.time.chrono.Era;
 import java.time.temporal.*;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.time.temporal.ChronoField.*;
-import static java.time.temporal.ChronoUnit.MONTHS;
 
 @SuppressWarnings("unused")
 public class IranianDate
         implements Temporal, TemporalAdjuster, ChronoLocalDate, Serializable {
 
+    /** Epoch days of the 1st of Farvardin -999999999 and the last day of 999999999 */
+    static final ValueRange EPOCH_DAY_RANGE = ValueRange.of(-366002320490L, 365240113014L);
+
+    /** Number of the days in a year before each month */
+    static final int[] DAYS_BEFORE_MONTH =
+            {0, 31, 62, 93, 124, 155, 186, 216, 246, 276, 306, 336};
+
     private final int year;
     private final short month;
     private final short day;
 
+    /**
+     * Cache of {@link #toEpochDay()} filled in the racy single-check manner of
+     * String.hashCode(); it's XORed with Integer.MIN_VALUE so that zero means
+     * "not computed yet", and epoch days out of the range of int are never cached.
+     * It fits in the padding of the object, which remains 24 bytes on 64-bit JVMs
+     * with compressed class pointers and oops, their default for heaps under 32 GB.
+     */
+    private transient int epochDay;
+
     private IranianDate(int year, int month, int day) {
         this.year = year;
         this.month = (short) month;
@@ -50,71 +77,278 @@ public class IranianDate
 
         if (month == 12 && day == 30 && !isLeapYear())
             throw new DateTimeException("Year " + year + " is not a leap year!");
+        if (day == 31 && month > 6)
+            throw new DateTimeException("Invalid date: month " + month + " has fewer than 31 days");
     }
 
 
     //-------------------------BUILDERS--------------------------------------
 
     public static IranianDate of(int year, int month, int day) {
-        YEAR.checkValidValue(year);
-        MONTH_OF_YEAR.checkValidValue(month);
-        IranianChronology.INSTANCE.range(DAY_OF_MONTH).checkValidValue(day, DAY_OF_MONTH);
-        return new IranianDate(year, month, day);
+        try {
+            YEAR.checkValidValue(year);
+            MONTH_OF_YEAR.checkValidValue(month);
+            IranianChronology.INSTANCE.range(DAY_OF_MONTH).checkValidValue(day, DAY_OF_MONTH);
+            if (year >= Cache.MIN_YEAR && year <= Cache.MAX_YEAR)
+                return Cache.get(year, month, day);
+            return new IranianDate(year, month, day);
+        } catch (DateTimeException e) {
+            if (IranianMetrics.ENABLED) IranianMetrics.invalidDates.increment();
+            throw e;
+        }
     }
 
     public static IranianDate ofYearDay(int year, int dayOfYear) {
-        YEAR.checkValidValue(year);
-        DAY_OF_YEAR.checkValidValue(dayOfYear);
+        try {
+            YEAR.checkValidValue(year);
+            DAY_OF_YEAR.checkValidValue(dayOfYear);
 
-        boolean leap = IranianChronology.INSTANCE.isLeapYear(year);
-        if (dayOfYear == 366 && !leap)
-            throw new DateTimeException(
-                    "Invalid date 'DayOfYear 366' as '" + year + "' is not a leap year");
+            boolean leap = IranianChronology.INSTANCE.isLeapYear(year);
+            if (dayOfYear == 366 && !leap)
+                throw new DateTimeException(
+                        "Invalid date 'DayOfYear 366' as '" + year + "' is not a leap year");
 
-        int month = 1;
-        int maxDaysInMonth = 31;
-
-        while (dayOfYear > maxDaysInMonth) {
-            dayOfYear -= maxDaysInMonth;
-            month++;
-            maxDaysInMonth = (month < 7) ? 31 : 30;
+            int month = monthOfYearDay(dayOfYear);
+            return new IranianDate(year, month, dayOfYear - DAYS_BEFORE_MONTH[month - 1]);
+        } catch (DateTimeException e) {
+            if (IranianMetrics.ENABLED) IranianMetrics.invalidDates.increment();
+            throw e;
         }
+    }
+
+    /**
+     * The date of an instant in a time-zone, like {@link LocalDate#ofInstant(Instant, ZoneId)}.
+     * Use {@link IranianInstantConverter} for many instants in a row.
+     */
+    public static IranianDate ofInstant(Instant instant, ZoneId zone) {
+        Objects.requireNonNull(instant, "instant");
+        ZoneOffset offset = zone.getRules().getOffset(instant);
+        long localSecond = instant.getEpochSecond() + offset.getTotalSeconds();  // no overflow
+        return ofEpochDay(Math.floorDiv(localSecond, 86400));
+    }
 
-        return new IranianDate(year, month, dayOfYear);
+    /**
+     * @see #ofInstant(Instant, ZoneId)
+     */
+    public static IranianDate ofEpochMilli(long epochMilli, ZoneId zone) {
+        return ofInstant(Instant.ofEpochMilli(epochMilli), zone);
+    }
+
+    public static IranianDate now() {
+        return now(ZoneId.systemDefault());
+    }
+
+    public static IranianDate now(ZoneId zone) {
+        return Today.get(zone, System.currentTimeMillis());
+    }
+
+    /**
+     * The current date according to a clock, which may be a fixed one in tests.
+     * The date of each zone is shared until the clock leaves its day, so that most calls
+     * are only a range check.
+     */
+    public static IranianDate now(Clock clock) {
+        return Today.get(clock.getZone(), clock.millis());
+    }
+
+    static int monthOfYearDay(int dayOfYear) {
+        return (dayOfYear <= 186) ? (dayOfYear - 1) / 31 + 1 : (dayOfYear - 187) / 30 + 7;
     }
 
     public static IranianDate ofEpochDay(long epochDay) {
-        int y, yearLength;
-
-        if (epochDay >= 79L) {  // after 6348
-            epochDay -= 78L;
-            y = 6349;
-            while (true) {
-                yearLength = IranianChronology.INSTANCE.isLeapYear(y) ? 366 : 365;
-                if (epochDay > yearLength)
-                    epochDay -= yearLength;
-                else
-                    return ofYearDay(y, (int) epochDay);
-                y++;
+        if (IranianMetrics.ENABLED) IranianMetrics.fromEpochDay.increment();
+        if (epochDay >= Cache.MIN_EPOCH_DAY && epochDay <= Cache.MAX_EPOCH_DAY)
+            return Cache.get(epochDay);
+        return create(epochDay);
+    }
+
+    /**
+     * Same as {@link #ofEpochDay(long)}, but resolves the days out of the cache window through
+     * {@code cursor}, which is much faster for sorted bulk conversions.
+     */
+    static IranianDate ofEpochDay(long epochDay, IranianDates.Cursor cursor) {
+        if (epochDay >= Cache.MIN_EPOCH_DAY && epochDay <= Cache.MAX_EPOCH_DAY)
+            return Cache.get(epochDay);
+        if (!IranianDates.EPOCH_DAY_RANGE.isValidValue(epochDay))
+            return create(epochDay);
+        return ofValidPacked(cursor.pack(epochDay), epochDay);
+    }
+
+    private static IranianDate create(long epochDay) {
+        EPOCH_DAY_RANGE.checkValidValue(epochDay, EPOCH_DAY);
+
+        long y = IranianChronology.yearOfEpochDay(epochDay);
+        IranianDate date = ofYearDay((int) y, (int) (epochDay - IranianChronology.yearStart(y)) + 1);
+        date.cacheEpochDay(epochDay);
+        return date;
+    }
+
+    /**
+     * Shared instances of the dates within a window of years, which is the current year
+     * ± 5 by default and can be changed via the system properties
+     * {@code ir.mahdiparastesh.chrono.cache.min} and {@code ...max}, or turned off by
+     * {@code ir.mahdiparastesh.chrono.cache.disabled}; hits and misses are only counted
+     * if {@code ir.mahdiparastesh.chrono.cache.stats} is set or {@link IranianMetrics} are
+     * enabled. {@link #of(int, int, int)} and {@link #ofEpochDay(long)} look them up in a
+     * direct-mapped array indexed by the epoch day; the slots are read and written without
+     * locks, which is safe because the fields of IranianDate are final.
+     */
+    public static final class Cache {
+        private static final int MIN_YEAR, MAX_YEAR;
+        private static final long MIN_EPOCH_DAY, MAX_EPOCH_DAY;
+        private static final IranianDate[] SLOTS;
+        private static final boolean STATS =
+                Boolean.getBoolean("ir.mahdiparastesh.chrono.cache.stats") || IranianMetrics.ENABLED;
+        private static final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+        static {
+            int now = (int) IranianChronology.yearOfEpochDay(LocalDate.now().toEpochDay());
+            if (Boolean.getBoolean("ir.mahdiparastesh.chrono.cache.disabled")) {
+                MIN_YEAR = 0;
+                MAX_YEAR = -1;
+            } else {
+                MIN_YEAR = Math.max(
+                        Integer.getInteger("ir.mahdiparastesh.chrono.cache.min", now - 5), (int) YEAR.range().getMinimum());
+                MAX_YEAR = Math.min(
+                        Integer.getInteger("ir.mahdiparastesh.chrono.cache.max", now + 5), (int) YEAR.range().getMaximum());
             }
+            MIN_EPOCH_DAY = IranianChronology.yearStart(MIN_YEAR);
+            MAX_EPOCH_DAY = IranianChronology.yearStart(MAX_YEAR + 1L) - 1;
+            // one slot per day of the window, but no more than 2^16
+            long days = Math.max(MAX_EPOCH_DAY - MIN_EPOCH_DAY + 1, 1);
+            SLOTS = new IranianDate[Integer.highestOneBit((int) Math.min(days * 2 - 1, 1 << 16))];
+        }
 
-        } else if (epochDay < -286L) {  // before 6348
-            epochDay = -epochDay - 287L;
-            y = 6347;
-            while (true) {
-                yearLength = IranianChronology.INSTANCE.isLeapYear(y) ? 366 : 365;
-                if (epochDay > yearLength)
-                    epochDay -= yearLength;
-                else
-                    return ofYearDay(y, (int) (yearLength - epochDay));
-                y--;
+        private Cache() {
+        }
+
+        static IranianDate get(int year, int month, int day) {
+            long epochDay = epochDay(year, month, day);
+            int i = (int) epochDay & (SLOTS.length - 1);
+            IranianDate date = SLOTS[i];
+            if (date != null && date.year == year && date.month == month && date.day == day) {
+                if (STATS) hits.increment();
+                return date;
             }
+            date = new IranianDate(year, month, day);
+            date.cacheEpochDay(epochDay);
+            SLOTS[i] = date;
+            if (STATS) misses.increment();
+            return date;
+        }
+
+        static IranianDate get(long epochDay) {
+            int i = (int) epochDay & (SLOTS.length - 1);
+            IranianDate date = SLOTS[i];
+            // compares the fields rather than the epoch day cached in the instance
+            if (date != null && epochDay(date.year, date.month, date.day) == epochDay) {
+                if (STATS) hits.increment();
+                return date;
+            }
+            date = create(epochDay);
+            SLOTS[i] = date;
+            if (STATS) misses.increment();
+            return date;
+        }
+
+        private static long epochDay(int year, int month, int day) {
+            return IranianChronology.yearStart(year) + DAYS_BEFORE_MONTH[month - 1] + day - 1;
+        }
 
-        } else {  // during 6348 (1969-1970)
-            return ofYearDay(6348, (int) epochDay + 287);
+        public static boolean isEnabled() {
+            return MIN_YEAR <= MAX_YEAR;
+        }
+
+        public static int minYear() {
+            return MIN_YEAR;
+        }
+
+        public static int maxYear() {
+            return MAX_YEAR;
+        }
+
+        /** Number of the requests which returned a shared instance */
+        public static long hits() {
+            return hits.sum();
+        }
+
+        /** Number of the requests within the window which created a new instance */
+        public static long misses() {
+            return misses.sum();
         }
     }
 
+    /**
+     * The current date of a zone along with the epoch millis of its start (inclusive) and end
+     * (exclusive), for {@link #now(Clock)}. When a clock leaves that range, a new snapshot
+     * replaces the old one through a compare-and-set; if another thread wins the race,
+     * its snapshot is just as good.
+     */
+    private static final class Today {
+        private static final ConcurrentHashMap<ZoneId, AtomicReference<Today>> ZONES =
+                new ConcurrentHashMap<>();
+
+        final IranianDate date;
+        final long start, end;
+
+        private Today(IranianDate date, long start, long end) {
+            this.date = date;
+            this.start = start;
+            this.end = end;
+        }
+
+        static IranianDate get(ZoneId zone, long epochMilli) {
+            AtomicReference<Today> ref = ZONES.get(zone);
+            if (ref == null)
+                ref = ZONES.computeIfAbsent(zone, z -> new AtomicReference<>());
+            Today today = ref.get();
+            if (today != null && epochMilli >= today.start && epochMilli < today.end)
+                return today.date;
+
+            IranianDate date = ofEpochMilli(epochMilli, zone);
+            LocalDate iso = LocalDate.ofEpochDay(date.toEpochDay());
+            Today fresh = new Today(date,  // midnight may not exist on a transition
+                    iso.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    iso.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            ref.compareAndSet(today, fresh);
+            return date;
+        }
+    }
+
+    /**
+     * @see IranianDates
+     */
+    public static IranianDate ofPacked(int packed) {
+        return of(IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+    }
+
+    /**
+     * Creates a date from fields which are already known to be valid.
+     */
+    static IranianDate ofValid(int year, int month, int day) {
+        if (year >= Cache.MIN_YEAR && year <= Cache.MAX_YEAR)
+            return Cache.get(year, month, day);
+        return new IranianDate(year, month, day);
+    }
+
+    /**
+     * Creates a date from a packed value which is already known to be valid.
+     */
+    static IranianDate ofValidPacked(int packed) {
+        return ofValid(IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+    }
+
+    /**
+     * Creates a date from a packed value which is already known to be valid, along with its
+     * epoch day.
+     */
+    static IranianDate ofValidPacked(int packed, long epochDay) {
+        var date = new IranianDate(
+                IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+        date.cacheEpochDay(epochDay);
+        return date;
+    }
+
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     @Override
     public Object clone() {
@@ -158,6 +392,9 @@ public class IranianDate
         if (field instanceof ChronoField) {
             return get0(field);
         }
+        if (field instanceof IranianWeekFields.Field) {  // always within its range
+            return (int) field.getFrom(this);
+        }
         return ChronoLocalDate.super.get(field);
     }
 
@@ -187,20 +424,10 @@ public class IranianDate
     }
 
     public int getDayOfYear() {
-        int doy = 0;
-        int m = 1;
-        while (m < month) {
-            if (m <= 6)
-                doy += 31;
-            else if (m <= 11)
-                doy += 30;
-            m++;
-        }
-        doy += day;
-        return doy;
+        return DAYS_BEFORE_MONTH[month - 1] + day;
     }
 
-    private long getProlepticMonth() {
+    long getProlepticMonth() {
         return (year * 12L + month - 1);
     }
 
@@ -211,29 +438,18 @@ public class IranianDate
 
     @Override
     public long toEpochDay() {
-        if (year > 6348) {  // after 6348
-            long days = 79L;
-            int y = 6349;
-            while (y != year) {
-                days += IranianChronology.INSTANCE.isLeapYear(y) ? 366 : 365;
-                y++;
-            }
-            days += getDayOfYear() - 1;
-            return days;
-
-        } else if (year < 6348) {  // before 6348
-            long days = -286L;
-            int y = 6347;
-            while (y != year) {
-                days -= IranianChronology.INSTANCE.isLeapYear(y) ? 366 : 365;
-                y--;
-            }
-            days -= (IranianChronology.INSTANCE.isLeapYear(y) ? 366 : 365) - (getDayOfYear() - 1);
-            return days;
+        int cached = epochDay;
+        if (cached != 0)
+            return cached ^ Integer.MIN_VALUE;
+        if (IranianMetrics.ENABLED) IranianMetrics.toEpochDay.increment();
+        long ed = IranianChronology.yearStart(year) + getDayOfYear() - 1;
+        cacheEpochDay(ed);
+        return ed;
+    }
 
-        } else {  // during 6348 (1969-1970)
-            return getDayOfYear() - 287L;
-        }
+    private void cacheEpochDay(long ed) {
+        if (ed == (int) ed)
+            epochDay = (int) ed ^ Integer.MIN_VALUE;
     }
 
     @Override
@@ -260,7 +476,12 @@ public class IranianDate
     public ValueRange range(TemporalField field) {
         if (field instanceof ChronoField) {
             if (isSupported(field)) {
-                return IranianChronology.INSTANCE.range((ChronoField) field);
+                return switch ((ChronoField) field) {
+                    case DAY_OF_MONTH -> ValueRange.of(1, lengthOfMonth());
+                    case DAY_OF_YEAR -> ValueRange.of(1, lengthOfYear());
+                    case ALIGNED_WEEK_OF_MONTH -> ValueRange.of(1, 5);
+                    default -> IranianChronology.INSTANCE.range((ChronoField) field);
+                };
             }
             throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
         }
@@ -330,16 +551,17 @@ public class IranianDate
 
     @Override
     public ChronoPeriod until(ChronoLocalDate other) {
-        IranianDate end = IranianChronology.INSTANCE.date(other);
+        IranianDate end = toIranianDate(other);
         int
-                y = other.get(YEAR) - this.get(YEAR),
-                m = other.get(MONTH_OF_YEAR) - this.get(MONTH_OF_YEAR),
-                d = other.get(DAY_OF_MONTH) - this.get(DAY_OF_MONTH);
+                y = end.year - year,
+                m = end.month - month,
+                d = end.day - day;
 
-        if (isBefore(other)) {
-            IranianDate prevMonth = (IranianDate) other.minus(1, MONTHS);
+        if (compareTo0(end) < 0) {
             if (d < 0) {
-                d += prevMonth.lengthOfMonth();
+                d += (end.month == 1)  // length of the month before that of end
+                        ? (IranianChronology.INSTANCE.isLeapYear(end.year - 1L) ? 30 : 29)
+                        : (end.month <= 7 ? 31 : 30);
                 m--;
             }
             if (m < 0) {
@@ -348,7 +570,7 @@ public class IranianDate
             }
         } else {
             if (d > 0) {
-                d = other.lengthOfMonth() - d;
+                d = end.lengthOfMonth() - d;
                 m++;
             } else
                 d = Math.abs(d);
@@ -364,11 +586,13 @@ public class IranianDate
 
     @Override
     public long until(Temporal endExclusive, TemporalUnit unit) {
-        IranianDate end = IranianChronology.INSTANCE.date(endExclusive);
+        if (unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS) {  // no need for the Iranian fields
+            long days = endExclusive.getLong(EPOCH_DAY) - toEpochDay();
+            return unit == ChronoUnit.DAYS ? days : days / 7;
+        }
+        IranianDate end = toIranianDate(endExclusive);
         if (unit instanceof ChronoUnit chronoUnit) {
             return switch (chronoUnit) {
-                case DAYS -> daysUntil(end);
-                case WEEKS -> daysUntil(end) / 7;
                 case MONTHS -> monthsUntil(end);
                 case YEARS -> monthsUntil(end) / 12;
                 case DECADES -> monthsUntil(end) / 120;
@@ -381,13 +605,34 @@ public class IranianDate
         return unit.between(this, end);
     }
 
+    /** Converts a temporal of any chronology only if it isn't an IranianDate already. */
+    private static IranianDate toIranianDate(TemporalAccessor temporal) {
+        if (temporal instanceof IranianDate date)
+            return date;
+        return IranianChronology.INSTANCE.date(temporal);
+    }
+
+    /**
+     * A sequential stream of the dates from this one (inclusive) to the given date
+     * (exclusive), like {@link java.time.LocalDate#datesUntil(java.time.LocalDate)};
+     * it splits evenly by the epoch days when made {@code parallel()}.
+     *
+     * @throws IllegalArgumentException if the end date is before this date
+     */
+    public Stream<IranianDate> datesUntil(ChronoLocalDate endExclusive) {
+        long start = toEpochDay(), end = endExclusive.toEpochDay();
+        if (end < start)
+            throw new IllegalArgumentException(endExclusive + " < " + this);
+        return StreamSupport.stream(new IranianDateSpliterator(start, end), false);
+    }
+
     long daysUntil(IranianDate end) {
         return end.toEpochDay() - toEpochDay();  // no overflow
     }
 
     private long monthsUntil(IranianDate end) {
-        long packed1 = getProlepticMonth() * 32L + getLong(DAY_OF_MONTH);  // no overflow
-        long packed2 = end.getProlepticMonth() * 32L + end.getLong(DAY_OF_MONTH);  // no overflow
+        long packed1 = getProlepticMonth() * 32L + day;  // no overflow
+        long packed2 = end.getProlepticMonth() * 32L + end.day;  // no overflow
         return (packed2 - packed1) / 32;
     }
 
@@ -399,6 +644,9 @@ public class IranianDate
         if (adjuster instanceof IranianDate) {
             return (IranianDate) adjuster;
         }
+        if (adjuster instanceof IranianTemporalAdjusters.Adjuster iranianAdjuster) {
+            return iranianAdjuster.adjust(this);
+        }
         return (IranianDate) adjuster.adjustInto(this);
     }
 
@@ -460,12 +708,21 @@ public class IranianDate
         return ofYearDay(year, dayOfYear);
     }
 
+    /**
+     * Adds a {@link Period}, an Iranian {@link ChronoPeriod} or a {@link Duration} of whole days
+     * in one pass: the years and months are added together as months and the days are added
+     * afterward, like {@link LocalDate#plus(TemporalAmount)}.
+     * Any other amount is handed to {@link TemporalAmount#addTo(Temporal)}.
+     */
     @Override
     public IranianDate plus(TemporalAmount amount) {
-        IranianDate altered = (IranianDate) clone();
-        for (TemporalUnit unit : amount.getUnits())
-            altered = plus(amount.get(unit), unit);
-        return altered;
+        if (amount instanceof Period period)
+            return plus(period.toTotalMonths(), period.getDays());
+        if (amount instanceof ChronoPeriod period)
+            return plus(totalMonths(period), period.get(ChronoUnit.DAYS));
+        if (amount instanceof Duration duration)
+            return plus(0, days(duration));
+        return toIranianDate(amount.addTo(this));
     }
 
     @Override
@@ -512,12 +769,17 @@ public class IranianDate
         return IranianDate.ofEpochDay(toEpochDay() + daysToAdd);
     }
 
+    /** The counterpart of {@link #plus(TemporalAmount)}. */
     @Override
     public IranianDate minus(TemporalAmount amount) {
-        IranianDate altered = (IranianDate) clone();
-        for (TemporalUnit unit : amount.getUnits())
-            altered = minus(amount.get(unit), unit);
-        return altered;
+        // none of these amounts can be as large as Long.MIN_VALUE.
+        if (amount instanceof Period period)
+            return plus(-period.toTotalMonths(), -period.getDays());
+        if (amount instanceof ChronoPeriod period)
+            return plus(-totalMonths(period), -period.get(ChronoUnit.DAYS));
+        if (amount instanceof Duration duration)
+            return plus(0, -days(duration));
+        return toIranianDate(amount.subtractFrom(this));
     }
 
     @Override
@@ -551,13 +813,48 @@ public class IranianDate
                 : plusDays(-daysToSubtract));
     }
 
+    /**
+     * Adds months and then days, without creating an intermediate date.
+     */
+    private IranianDate plus(long monthsToAdd, long daysToAdd) {
+        if (monthsToAdd == 0)
+            return daysToAdd == 0 ? this : ofEpochDay(Math.addExact(toEpochDay(), daysToAdd));
+
+        long calcMonths = getProlepticMonth() + monthsToAdd;  // safe overflow
+        int newYear = YEAR.checkValidIntValue(Math.floorDiv(calcMonths, 12));
+        int newMonth = Math.floorMod(calcMonths, 12) + 1;
+        int newDay = previousValidDay(newYear, newMonth, day);
+        if (daysToAdd == 0)
+            return ofValid(newYear, newMonth, newDay);
+        return ofEpochDay(Math.addExact(
+                IranianChronology.yearStart(newYear) + DAYS_BEFORE_MONTH[newMonth - 1] + newDay - 1,
+                daysToAdd));
+    }
+
+    private static long totalMonths(ChronoPeriod period) {
+        if (!IranianChronology.INSTANCE.equals(period.getChronology()))
+            throw new DateTimeException("Chronology mismatch, expected: " +
+                    IranianChronology.INSTANCE.getId() + ", actual: " + period.getChronology().getId());
+        return Math.addExact(Math.multiplyExact(period.get(ChronoUnit.YEARS), 12L), period.get(ChronoUnit.MONTHS));
+    }
+
+    private static long days(Duration duration) {
+        if (duration.getNano() != 0 || duration.getSeconds() % 86400 != 0)
+            throw new UnsupportedTemporalTypeException("Not a whole number of days: " + duration);
+        return duration.getSeconds() / 86400;
+    }
+
     private static IranianDate resolvePreviousValid(
             int year, int month, int day) {
-        switch (month) {
-            case 12 -> day = Math.min(day, IranianChronology.INSTANCE.isLeapYear(year) ? 30 : 29);
-            case 7, 8, 9, 10, 11 -> day = Math.min(day, 30);
-        }
-        return new IranianDate(year, month, day);
+        return new IranianDate(year, month, previousValidDay(year, month, day));
+    }
+
+    static int previousValidDay(int year, int month, int day) {
+        return switch (month) {
+            case 12 -> Math.min(day, IranianChronology.INSTANCE.isLeapYear(year) ? 30 : 29);
+            case 7, 8, 9, 10, 11 -> Math.min(day, 30);
+            default -> day;
+        };
     }
 
 
@@ -571,31 +868,19 @@ public class IranianDate
     }
 
     void formatTo(StringBuilder buf) {
-        int yearValue = year;
-        int monthValue = month;
-        int dayValue = day;
-        int absYear = Math.abs(yearValue);
-        if (absYear < 1000) {
-            if (yearValue < 0) {
-                buf.append('-');
-            }
-            buf.repeat('0', absYear < 10 ? 3 : absYear < 100 ? 2 : 1);
-            buf.append(absYear);
-        } else {
-            if (yearValue > 9999) {
-                buf.append('+');
-            }
-            buf.append(yearValue);
-        }
-        buf.append(monthValue < 10 ? "-0" : "-")
-                .append(monthValue)
-                .append(dayValue < 10 ? "-0" : "-")
-                .append(dayValue);
+        IranianDateFormat.write(buf, year, month, day);
     }
 
 
     //-------------------------COMPRESSION-----------------------------------
 
+    /**
+     * @see IranianDates
+     */
+    public int toPacked() {
+        return IranianDates.pack(year, month, day);
+    }
+
     @Override
     public int hashCode() {
         return (year & 0xFFFFF800) ^ ((year << 11) + (month << 6) + day);
@@ -647,5 +932,10 @@ public class IranianDate
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             obj = IranianDate.readExternal(in);
         }
+
+        @java.io.Serial
+        private Object readResolve() {
+            return obj;
+        }
     }
 }
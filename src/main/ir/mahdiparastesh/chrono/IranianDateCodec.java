@@ -0,0 +1,298 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Stores dates in binary, either as fixed 4-byte {@linkplain IranianDates packed} values or as
+ * zig-zag varints of the differences between consecutive epoch days, which take 1 byte per date
+ * for a daily series and rarely more than 3 for sorted data.
+ * <p>
+ * The methods over a {@link ByteBuffer} start at its position and advance it; the packed values
+ * follow its byte order. The methods over a {@link MemorySegment} start at the given offset,
+ * return the offset right after the last byte, and write the packed values in big-endian.
+ * Each call to {@code writeDeltas} starts a new sequence, which can be read by a single call
+ * to {@code readDeltas}, or in consecutive chunks by passing the last epoch day of each chunk
+ * as {@code previous} to the call for the next one.
+ * <p>
+ * The {@code readPacked} methods validate every value before they read any, so that an invalid
+ * one leaves both the source and the destination untouched, while the {@code readPackedTrusted}
+ * methods skip that for data which this class has written itself. Even then, a day beyond the
+ * length of its month throws when it's read as an {@link IranianDate}.
+ */
+@SuppressWarnings("unused")
+public final class IranianDateCodec {
+
+    private IranianDateCodec() {
+    }
+
+
+    //-------------------------PACKED----------------------------------------
+
+    public static void writePacked(ByteBuffer dst, IranianDate[] dates, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, dates.length);
+        for (int i = offset; i < offset + length; i++)
+            dst.putInt(dates[i].toPacked());
+    }
+
+    public static void writePacked(ByteBuffer dst, int[] packed, int offset, int length) {
+        dst.asIntBuffer().put(packed, offset, length);
+        dst.position(dst.position() + length * 4);
+    }
+
+    public static void readPacked(ByteBuffer src, IranianDate[] dates, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, dates.length);
+        validatePacked(src, length);
+        readPackedTrusted(src, dates, offset, length);
+    }
+
+    public static void readPacked(ByteBuffer src, int[] packed, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, packed.length);
+        validatePacked(src, length);
+        readPackedTrusted(src, packed, offset, length);
+    }
+
+    /** Checks the next {@code length} packed values without moving the position. */
+    private static void validatePacked(ByteBuffer src, int length) {
+        if (src.remaining() < length * 4L)
+            throw new BufferUnderflowException();
+        for (int i = 0, at = src.position(); i < length; i++, at += 4) {
+            int p = src.getInt(at);
+            IranianDates.pack(IranianDates.year(p), IranianDates.month(p), IranianDates.day(p));
+        }
+    }
+
+    public static void readPackedTrusted(ByteBuffer src, IranianDate[] dates, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, dates.length);
+        for (int i = offset; i < offset + length; i++)
+            dates[i] = IranianDate.ofValidPacked(src.getInt());
+    }
+
+    public static void readPackedTrusted(ByteBuffer src, int[] packed, int offset, int length) {
+        src.asIntBuffer().get(packed, offset, length);
+        src.position(src.position() + length * 4);
+    }
+
+    public static long writePacked(MemorySegment dst, long at, IranianDate[] dates, int offset, int length) {
+        var buf = view(dst, at);
+        writePacked(buf, dates, offset, length);
+        return at + buf.position();
+    }
+
+    public static long writePacked(MemorySegment dst, long at, int[] packed, int offset, int length) {
+        var buf = view(dst, at);
+        writePacked(buf, packed, offset, length);
+        return at + buf.position();
+    }
+
+    public static long readPacked(MemorySegment src, long at, IranianDate[] dates, int offset, int length) {
+        var buf = view(src, at);
+        readPacked(buf, dates, offset, length);
+        return at + buf.position();
+    }
+
+    public static long readPacked(MemorySegment src, long at, int[] packed, int offset, int length) {
+        var buf = view(src, at);
+        readPacked(buf, packed, offset, length);
+        return at + buf.position();
+    }
+
+    public static long readPackedTrusted(MemorySegment src, long at, IranianDate[] dates, int offset, int length) {
+        var buf = view(src, at);
+        readPackedTrusted(buf, dates, offset, length);
+        return at + buf.position();
+    }
+
+    public static long readPackedTrusted(MemorySegment src, long at, int[] packed, int offset, int length) {
+        var buf = view(src, at);
+        readPackedTrusted(buf, packed, offset, length);
+        return at + buf.position();
+    }
+
+
+    //-------------------------DELTAS----------------------------------------
+
+    public static void writeDeltas(ByteBuffer dst, long[] epochDays, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        long previous = 0;
+        for (int i = offset; i < offset + length; i++) {
+            putVarint(dst, epochDays[i] - previous);
+            previous = epochDays[i];
+        }
+    }
+
+    public static void writeDeltas(ByteBuffer dst, int[] packed, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, packed.length);
+        long previous = 0, start = 0;
+        int year = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int date = packed[i];
+            if (IranianDates.year(date) != year || i == offset) {
+                year = IranianDates.year(date);
+                start = IranianChronology.yearStart(year);
+            }
+            long epochDay = start + IranianDates.dayOfYear(date) - 1;
+            putVarint(dst, epochDay - previous);
+            previous = epochDay;
+        }
+    }
+
+    public static void writeDeltas(ByteBuffer dst, IranianDate[] dates, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, dates.length);
+        long previous = 0;
+        for (int i = offset; i < offset + length; i++) {
+            long epochDay = dates[i].toEpochDay();
+            putVarint(dst, epochDay - previous);
+            previous = epochDay;
+        }
+    }
+
+    public static void readDeltas(ByteBuffer src, long[] epochDays, int offset, int length) {
+        readDeltas(src, epochDays, offset, length, 0);
+    }
+
+    /**
+     * Reads a chunk of a sequence whose previous chunk ended with the epoch day
+     * {@code previous}, which is 0 for the first chunk.
+     */
+    public static void readDeltas(ByteBuffer src, long[] epochDays, int offset, int length, long previous) {
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        long epochDay = previous;
+        for (int i = offset; i < offset + length; i++)
+            epochDays[i] = epochDay += getVarint(src);
+    }
+
+    public static void readDeltas(ByteBuffer src, int[] packed, int offset, int length) {
+        readDeltas(src, packed, offset, length, 0);
+    }
+
+    /**
+     * @see #readDeltas(ByteBuffer, long[], int, int, long)
+     */
+    public static void readDeltas(ByteBuffer src, int[] packed, int offset, int length, long previous) {
+        Objects.checkFromIndexSize(offset, length, packed.length);
+        var cursor = new IranianDates.Cursor();
+        long epochDay = previous;
+        for (int i = offset; i < offset + length; i++)
+            packed[i] = cursor.pack(epochDay += getVarint(src));
+    }
+
+    public static void readDeltas(ByteBuffer src, IranianDate[] dates, int offset, int length) {
+        readDeltas(src, dates, offset, length, 0);
+    }
+
+    /**
+     * @see #readDeltas(ByteBuffer, long[], int, int, long)
+     */
+    public static void readDeltas(ByteBuffer src, IranianDate[] dates, int offset, int length, long previous) {
+        Objects.checkFromIndexSize(offset, length, dates.length);
+        var cursor = new IranianDates.Cursor();
+        long epochDay = previous;
+        for (int i = offset; i < offset + length; i++)
+            dates[i] = IranianDate.ofEpochDay(epochDay += getVarint(src), cursor);
+    }
+
+    public static long writeDeltas(MemorySegment dst, long at, long[] epochDays, int offset, int length) {
+        var buf = view(dst, at);
+        writeDeltas(buf, epochDays, offset, length);
+        return at + buf.position();
+    }
+
+    public static long writeDeltas(MemorySegment dst, long at, int[] packed, int offset, int length) {
+        var buf = view(dst, at);
+        writeDeltas(buf, packed, offset, length);
+        return at + buf.position();
+    }
+
+    public static long writeDeltas(MemorySegment dst, long at, IranianDate[] dates, int offset, int length) {
+        var buf = view(dst, at);
+        writeDeltas(buf, dates, offset, length);
+        return at + buf.position();
+    }
+
+    public static long readDeltas(MemorySegment src, long at, long[] epochDays, int offset, int length) {
+        return readDeltas(src, at, epochDays, offset, length, 0);
+    }
+
+    public static long readDeltas(
+            MemorySegment src, long at, long[] epochDays, int offset, int length, long previous) {
+        var buf = view(src, at);
+        readDeltas(buf, epochDays, offset, length, previous);
+        return at + buf.position();
+    }
+
+    public static long readDeltas(MemorySegment src, long at, int[] packed, int offset, int length) {
+        return readDeltas(src, at, packed, offset, length, 0);
+    }
+
+    public static long readDeltas(
+            MemorySegment src, long at, int[] packed, int offset, int length, long previous) {
+        var buf = view(src, at);
+        readDeltas(buf, packed, offset, length, previous);
+        return at + buf.position();
+    }
+
+    public static long readDeltas(MemorySegment src, long at, IranianDate[] dates, int offset, int length) {
+        return readDeltas(src, at, dates, offset, length, 0);
+    }
+
+    public static long readDeltas(
+            MemorySegment src, long at, IranianDate[] dates, int offset, int length, long previous) {
+        var buf = view(src, at);
+        readDeltas(buf, dates, offset, length, previous);
+        return at + buf.position();
+    }
+
+    /** Writes {@code value} in zig-zag encoding, 7 bits per byte, the lowest first. */
+    private static void putVarint(ByteBuffer dst, long value) {
+        long bits = (value << 1) ^ (value >> 63);
+        while ((bits & ~0x7FL) != 0) {
+            dst.put((byte) (bits | 0x80));
+            bits >>>= 7;
+        }
+        dst.put((byte) bits);
+    }
+
+    private static long getVarint(ByteBuffer src) {
+        long bits = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = src.get();
+            bits |= (b & 0x7FL) << shift;
+            if (b >= 0) return (bits >>> 1) ^ -(bits & 1);
+        }
+        throw new IllegalArgumentException("Malformed varint before index " + src.position());
+    }
+
+    /** A big-endian view of {@code segment} from {@code offset} on, of at most 2 GB. */
+    private static ByteBuffer view(MemorySegment segment, long offset) {
+        return segment.asSlice(offset, Math.min(segment.byteSize() - offset, Integer.MAX_VALUE))
+                .asByteBuffer().order(ByteOrder.BIG_ENDIAN);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ValueRange;
+import java.util.Objects;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Parses and prints dates in the format of {@link IranianDate#toString()}, e.g. {@code 6404-01-16},
+ * {@code +10000-01-01} or {@code -0001-12-30}, directly over {@link CharSequence}s, ASCII byte arrays
+ * and {@link ByteBuffer}s, without intermediate Strings.
+ * Parsing is strict: the years of more than 4 digits must have a sign and no leading zero, the
+ * year zero must not be negative, and the day must exist in its month, so that printing a parsed
+ * date gives back the same text.
+ * <p>
+ * A failure is reported as a {@link DateTimeParseException} whose parsed text is the given region
+ * and whose error index is relative to its start.
+ */
+@SuppressWarnings("unused")
+public final class IranianDateFormat {
+
+    /** Length of the longest output, e.g. {@code -999999999-12-30} */
+    public static final int MAX_LENGTH = 16;
+
+    private IranianDateFormat() {
+    }
+
+
+    //-------------------------PARSING---------------------------------------
+
+    public static IranianDate parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /** Parses the whole region [from, to) of {@code text} as a date. */
+    public static IranianDate parse(CharSequence text, int from, int to) {
+        Objects.checkFromToIndex(from, to, text.length());
+        return toDate(text, from, to, read(text, from, to));
+    }
+
+    /** Parses the whole region [from, to) of the ASCII {@code bytes} as a date. */
+    public static IranianDate parse(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        return toDate(bytes, from, to, read(bytes, from, to));
+    }
+
+    /**
+     * Parses the whole region [from, to) of the ASCII {@code buffer} as a date. The region must lie
+     * within its limit, but may be anywhere relative to its position, which is not modified.
+     */
+    public static IranianDate parse(ByteBuffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.limit());
+        return toDate(buffer, from, to, read(buffer, from, to));
+    }
+
+    /**
+     * @see IranianDates
+     */
+    public static int parsePacked(CharSequence text, int from, int to) {
+        Objects.checkFromToIndex(from, to, text.length());
+        return toPacked(text, from, to, read(text, from, to));
+    }
+
+    /**
+     * @see IranianDates
+     */
+    public static int parsePacked(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        return toPacked(bytes, from, to, read(bytes, from, to));
+    }
+
+    /**
+     * @see IranianDates
+     */
+    public static int parsePacked(ByteBuffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.limit());
+        return toPacked(buffer, from, to, read(buffer, from, to));
+    }
+
+    /**
+     * Reads the fields of a date from a CharSequence, a byte[] or a ByteBuffer
+     * as {@code year << 9 | month << 5 | day}, without validating their values.
+     */
+    private static long read(Object src, int from, int to) {
+        int i = from;
+        if (i == to) throw error(src, from, to, i, "Text is empty");
+
+        int sign = charAt(src, i);
+        if (sign == '+' || sign == '-') i++;
+        else sign = 0;
+        int year = 0, digits = 0;
+        for (int c; i < to && (c = charAt(src, i) - '0') >= 0 && c <= 9; i++) {
+            if (++digits > 9) throw error(src, from, to, i, "Year has more than 9 digits");
+            year = year * 10 + c;
+        }
+        if (digits < 4)
+            throw error(src, from, to, i, "Year must have at least 4 digits");
+        if (sign == 0 && digits > 4)
+            throw error(src, from, to, from, "Year of more than 4 digits must have a sign");
+        if (sign == '+' && digits == 4)
+            throw error(src, from, to, from, "Year of 4 digits must not have a '+' sign");
+        if (digits > 4 && charAt(src, from + 1) == '0')
+            throw error(src, from, to, from + 1, "Year of more than 4 digits must not start with zero");
+        if (sign == '-' && year == 0)
+            throw error(src, from, to, from, "Year zero must not have a '-' sign");
+        if (sign == '-') year = -year;
+
+        int month = readField(src, from, to, i);
+        int day = readField(src, from, to, i + 3);
+        if (i + 6 != to)
+            throw error(src, from, to, i + 6, "Unparsed text found");
+        return ((long) year << 9) | (month << 5) | day;
+    }
+
+    /** Reads a '-' and 2 digits starting at {@code i}. */
+    private static int readField(Object src, int from, int to, int i) {
+        if (i >= to || charAt(src, i) != '-')
+            throw error(src, from, to, i, "Expected '-'");
+        int tens, ones;
+        if (i + 2 >= to
+                || (tens = charAt(src, i + 1) - '0') < 0 || tens > 9
+                || (ones = charAt(src, i + 2) - '0') < 0 || ones > 9)
+            throw error(src, from, to, i + 1, "Expected 2 digits");
+        return tens * 10 + ones;
+    }
+
+    private static IranianDate toDate(Object src, int from, int to, long fields) {
+        int year = (int) (fields >> 9), month = (int) (fields >>> 5) & 0xF, day = (int) fields & 0x1F;
+        try {
+            return IranianDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw invalid(src, from, to, YEAR.range(), year, month, e);
+        }
+    }
+
+    private static int toPacked(Object src, int from, int to, long fields) {
+        int year = (int) (fields >> 9), month = (int) (fields >>> 5) & 0xF, day = (int) fields & 0x1F;
+        try {
+            return IranianDates.pack(year, month, day);
+        } catch (DateTimeException e) {
+            throw invalid(src, from, to, IranianDates.YEAR_RANGE, year, month, e);
+        }
+    }
+
+    /** Reports an invalid value at the first field which can be blamed for it. */
+    private static DateTimeParseException invalid(
+            Object src, int from, int to, ValueRange years, int year, int month, DateTimeException e) {
+        int index;
+        if (!years.isValidValue(year))
+            index = 0;
+        else if (!MONTH_OF_YEAR.range().isValidValue(month))
+            index = to - from - 5;
+        else index = to - from - 2;
+        return new DateTimeParseException(
+                "Text '" + text(src, from, to) + "' could not be parsed: " + e.getMessage(),
+                text(src, from, to), index, e);
+    }
+
+    private static DateTimeParseException error(Object src, int from, int to, int i, String reason) {
+        String text = text(src, from, to);
+        return new DateTimeParseException(
+                "Text '" + text + "' could not be parsed at index " + (i - from) + ": " + reason,
+                text, i - from);
+    }
+
+    private static int charAt(Object src, int i) {
+        if (src instanceof byte[] bytes) return bytes[i] & 0xFF;
+        if (src instanceof ByteBuffer buffer) return buffer.get(i) & 0xFF;
+        return ((CharSequence) src).charAt(i);
+    }
+
+    private static String text(Object src, int from, int to) {
+        if (src instanceof byte[] bytes)
+            return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+        if (src instanceof CharSequence text)
+            return text.subSequence(from, to).toString();
+        var bytes = new byte[to - from];
+        ((ByteBuffer) src).get(from, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+
+    //-------------------------PRINTING--------------------------------------
+
+    public static void format(IranianDate date, StringBuilder buf) {
+        write(buf, date.get(YEAR), date.get(MONTH_OF_YEAR), date.get(DAY_OF_MONTH));
+    }
+
+    /**
+     * Prints {@code date} as ASCII into {@code bytes} from {@code offset} on.
+     *
+     * @return the index right after the last byte written
+     */
+    public static int format(IranianDate date, byte[] bytes, int offset) {
+        return write(bytes, offset, date.get(YEAR), date.get(MONTH_OF_YEAR), date.get(DAY_OF_MONTH));
+    }
+
+    /** Prints {@code date} as ASCII at the position of {@code buffer} and advances it. */
+    public static void format(IranianDate date, ByteBuffer buffer) {
+        write(buffer, date.get(YEAR), date.get(MONTH_OF_YEAR), date.get(DAY_OF_MONTH));
+    }
+
+    /**
+     * @see IranianDates
+     */
+    public static void formatPacked(int packed, StringBuilder buf) {
+        write(buf, IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+    }
+
+    /**
+     * @see #format(IranianDate, byte[], int)
+     * @see IranianDates
+     */
+    public static int formatPacked(int packed, byte[] bytes, int offset) {
+        return write(bytes, offset,
+                IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+    }
+
+    /**
+     * @see IranianDates
+     */
+    public static void formatPacked(int packed, ByteBuffer buffer) {
+        write(buffer, IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+    }
+
+    /** Number of characters printed for a date in {@code year}. */
+    public static int length(int year) {
+        if (year >= 0 && year <= 9999) return 10;
+        int abs = Math.abs(year), digits = 4;
+        for (int i = 10000; digits < 10 && abs >= i; i *= 10) digits++;
+        return digits + 7;
+    }
+
+    static void write(StringBuilder buf, int year, int month, int day) {
+        int start = buf.length();
+        buf.setLength(start + length(year));
+        write(buf, start, year, month, day);
+    }
+
+    private static int write(byte[] bytes, int offset, int year, int month, int day) {
+        Objects.checkFromIndexSize(offset, length(year), bytes.length);
+        return write((Object) bytes, offset, year, month, day);
+    }
+
+    private static void write(ByteBuffer buffer, int year, int month, int day) {
+        int length = length(year), position = buffer.position();
+        if (buffer.remaining() < length) throw new BufferOverflowException();
+        if (buffer.hasArray())
+            write(buffer.array(), buffer.arrayOffset() + position, year, month, day);
+        else write(buffer, position, year, month, day);
+        buffer.position(position + length);
+    }
+
+    /** Writes into a StringBuilder, a byte[] or a ByteBuffer which already has enough room. */
+    private static int write(Object dst, int i, int year, int month, int day) {
+        int length = length(year);
+        if (length != 10) put(dst, i, year < 0 ? '-' : '+');
+        int abs = Math.abs(year);
+        for (int j = i + length - 7; j > i + length - 11 || abs != 0; j--) {
+            put(dst, j, '0' + abs % 10);
+            abs /= 10;
+        }
+        i += length - 6;
+        put(dst, i, '-');
+        put(dst, i + 1, '0' + month / 10);
+        put(dst, i + 2, '0' + month % 10);
+        put(dst, i + 3, '-');
+        put(dst, i + 4, '0' + day / 10);
+        put(dst, i + 5, '0' + day % 10);
+        return i + 6;
+    }
+
+    private static void put(Object dst, int i, int c) {
+        if (dst instanceof byte[] bytes) bytes[i] = (byte) c;
+        else if (dst instanceof ByteBuffer buffer) buffer.put(i, (byte) c);
+        else ((StringBuilder) dst).setCharAt(i, (char) c);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.chrono.ChronoLocalDate;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A mutable map from dates of any chronology to {@code long} values, kept as epoch days and
+ * primitive values without any boxing, e.g. for counting the occurrences of dates.
+ * A dense range of dates is iterated in chronological order; otherwise the order is unspecified.
+ * It isn't thread-safe.
+ *
+ * @see IranianDateTable
+ */
+@SuppressWarnings("unused")
+public final class IranianDateLongMap extends IranianDateTable {
+
+    private long[] values;
+
+    public IranianDateLongMap() {
+        super(0);
+    }
+
+    public IranianDateLongMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public boolean containsKey(ChronoLocalDate date) {
+        return find(date.toEpochDay()) >= 0;
+    }
+
+    public boolean containsKey(long epochDay) {
+        return find(epochDay) >= 0;
+    }
+
+    public long getOrDefault(ChronoLocalDate date, long defaultValue) {
+        return getOrDefault(date.toEpochDay(), defaultValue);
+    }
+
+    public long getOrDefault(long epochDay, long defaultValue) {
+        int slot = find(epochDay);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public long put(ChronoLocalDate date, long value) {
+        return put(date.toEpochDay(), value);
+    }
+
+    /** @return the previous value, or 0 if there wasn't any */
+    public long put(long epochDay, long value) {
+        int slot = insert(epochDay);
+        if (slot < 0) slot = ~slot;
+        long previous = values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    public long addTo(ChronoLocalDate date, long increment) {
+        return addTo(date.toEpochDay(), increment);
+    }
+
+    /**
+     * Adds to the value of a day, which is 0 if it's absent.
+     *
+     * @return the new value
+     */
+    public long addTo(long epochDay, long increment) {
+        int slot = insert(epochDay);
+        if (slot < 0) slot = ~slot;
+        return values[slot] += increment;
+    }
+
+    public boolean remove(ChronoLocalDate date) {
+        return remove(date.toEpochDay());
+    }
+
+    /** @return whether the day was in the map */
+    public boolean remove(long epochDay) {
+        int slot = find(epochDay);
+        if (slot < 0)
+            return false;
+        removeAt(slot);
+        return true;
+    }
+
+    public void forEach(ObjLongConsumer<? super IranianDate> action) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != EMPTY) action.accept(IranianDate.ofEpochDay(keys[i]), values[i]);
+    }
+
+    /** Receives the epoch days and the values of a {@link IranianDateLongMap}. */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long epochDay, long value);
+    }
+
+    public void forEachEpochDay(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != EMPTY) action.accept(keys[i], values[i]);
+    }
+
+    @Override
+    Object values() {
+        return values;
+    }
+
+    @Override
+    void allocateValues(int capacity) {
+        values = new long[capacity];
+    }
+
+    @Override
+    void copyValue(Object oldValues, int oldSlot, int newSlot) {
+        values[newSlot] = ((long[]) oldValues)[oldSlot];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = 0;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.chrono.ChronoLocalDate;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A mutable map from dates of any chronology to non-null values, kept as epoch days without
+ * any boxing of the keys. A dense range of dates is iterated in chronological order; otherwise
+ * the order is unspecified. It isn't thread-safe.
+ *
+ * @see IranianDateTable
+ */
+@SuppressWarnings("unused")
+public final class IranianDateMap<V> extends IranianDateTable {
+
+    private Object[] values;
+
+    public IranianDateMap() {
+        super(0);
+    }
+
+    public IranianDateMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public boolean containsKey(ChronoLocalDate date) {
+        return find(date.toEpochDay()) >= 0;
+    }
+
+    public boolean containsKey(long epochDay) {
+        return find(epochDay) >= 0;
+    }
+
+    public V get(ChronoLocalDate date) {
+        return get(date.toEpochDay());
+    }
+
+    /** @return the value of the day, or null if there isn't any */
+    @SuppressWarnings("unchecked")
+    public V get(long epochDay) {
+        int slot = find(epochDay);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    public V getOrDefault(ChronoLocalDate date, V defaultValue) {
+        V value = get(date.toEpochDay());
+        return value != null ? value : defaultValue;
+    }
+
+    public V put(ChronoLocalDate date, V value) {
+        return put(date.toEpochDay(), value);
+    }
+
+    /**
+     * @return the previous value, or null if there wasn't any
+     * @throws NullPointerException if the value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long epochDay, V value) {
+        Objects.requireNonNull(value, "value");
+        int slot = insert(epochDay);
+        if (slot < 0) slot = ~slot;
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    public V computeIfAbsent(ChronoLocalDate date, Function<? super IranianDate, ? extends V> mappingFunction) {
+        return computeIfAbsent(date.toEpochDay(), mappingFunction);
+    }
+
+    /**
+     * Like {@link java.util.Map#computeIfAbsent(Object, Function)}, but the function mustn't
+     * modify this map.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long epochDay, Function<? super IranianDate, ? extends V> mappingFunction) {
+        int slot = find(epochDay);
+        if (slot >= 0)
+            return (V) values[slot];
+        V value = mappingFunction.apply(IranianDate.ofEpochDay(epochDay));
+        if (value != null) {
+            slot = ~insert(epochDay);  // before reading the values, which a rebuild replaces
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    public V remove(ChronoLocalDate date) {
+        return remove(date.toEpochDay());
+    }
+
+    /** @return the removed value, or null if there wasn't any */
+    @SuppressWarnings("unchecked")
+    public V remove(long epochDay) {
+        int slot = find(epochDay);
+        if (slot < 0)
+            return null;
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super IranianDate, ? super V> action) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != EMPTY) action.accept(IranianDate.ofEpochDay(keys[i]), (V) values[i]);
+    }
+
+    @Override
+    Object values() {
+        return values;
+    }
+
+    @Override
+    void allocateValues(int capacity) {
+        values = new Object[capacity];
+    }
+
+    @Override
+    void copyValue(Object oldValues, int oldSlot, int newSlot) {
+        values[newSlot] = ((Object[]) oldValues)[oldSlot];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = null;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.DateTimeException;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.time.temporal.ChronoField.EPOCH_DAY;
+
+/**
+ * An immutable range of days from a start (inclusive) to an end (exclusive), kept as epoch
+ * days. A range whose end equals its start is empty; it contains and overlaps nothing.
+ * <p>
+ * {@link Index} answers which of many ranges cover a day or overlap another range in
+ * logarithmic time, and {@link #union(Stream)} merges sorted ranges on the fly.
+ */
+@SuppressWarnings("unused")
+public final class IranianDateRange {
+
+    private final long start, end;
+
+    private IranianDateRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @throws DateTimeException if the end is before the start
+     */
+    public static IranianDateRange of(ChronoLocalDate startInclusive, ChronoLocalDate endExclusive) {
+        return ofEpochDays(startInclusive.toEpochDay(), endExclusive.toEpochDay());
+    }
+
+    /**
+     * @throws DateTimeException if either bound isn't the epoch day of a valid IranianDate,
+     *                           or if the end is before the start
+     */
+    public static IranianDateRange ofEpochDays(long startInclusive, long endExclusive) {
+        IranianDate.EPOCH_DAY_RANGE.checkValidValue(startInclusive, EPOCH_DAY);
+        IranianDate.EPOCH_DAY_RANGE.checkValidValue(endExclusive, EPOCH_DAY);
+        if (endExclusive < startInclusive)
+            throw new DateTimeException("End " + endExclusive + " is before start " + startInclusive);
+        return new IranianDateRange(startInclusive, endExclusive);
+    }
+
+
+    //-------------------------GETTERS---------------------------------------
+
+    public IranianDate getStart() {
+        return IranianDate.ofEpochDay(start);
+    }
+
+    /** The first day after this range */
+    public IranianDate getEnd() {
+        return IranianDate.ofEpochDay(end);
+    }
+
+    public long startEpochDay() {
+        return start;
+    }
+
+    public long endEpochDay() {
+        return end;
+    }
+
+    public long lengthInDays() {
+        return end - start;
+    }
+
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * @see IranianDate#datesUntil(ChronoLocalDate)
+     */
+    public Stream<IranianDate> dates() {
+        return StreamSupport.stream(new IranianDateSpliterator(start, end), false);
+    }
+
+
+    //-------------------------OPERATIONS------------------------------------
+
+    public boolean contains(ChronoLocalDate date) {
+        return contains(date.toEpochDay());
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= start && epochDay < end;
+    }
+
+    /** Whether all the days of {@code other} are within this range */
+    public boolean contains(IranianDateRange other) {
+        return other.start >= start && other.end <= end;
+    }
+
+    public boolean overlaps(IranianDateRange other) {
+        return start < other.end && other.start < end && start < end && other.start < other.end;
+    }
+
+    /**
+     * The days which are in both ranges.
+     *
+     * @throws DateTimeException if the ranges don't overlap
+     */
+    public IranianDateRange intersection(IranianDateRange other) {
+        if (!overlaps(other))
+            throw new DateTimeException(this + " doesn't overlap " + other);
+        return new IranianDateRange(Math.max(start, other.start), Math.min(end, other.end));
+    }
+
+    /** The smallest range which contains both ranges and any days in between */
+    public IranianDateRange span(IranianDateRange other) {
+        return new IranianDateRange(Math.min(start, other.start), Math.max(end, other.end));
+    }
+
+    /**
+     * Merges the ranges which overlap or adjoin each other, lazily, and skips the empty ones.
+     *
+     * @param sorted ranges sorted by their starts
+     * @throws IllegalArgumentException while consuming, if a range starts before its predecessor
+     */
+    public static Stream<IranianDateRange> union(Stream<IranianDateRange> sorted) {
+        Spliterator<IranianDateRange> source = sorted.spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<IranianDateRange>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT) {
+            private IranianDateRange next, pending;
+            private long lastStart = Long.MIN_VALUE;
+            private final Consumer<IranianDateRange> receiver = r -> next = r;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super IranianDateRange> action) {
+                while (source.tryAdvance(receiver)) {
+                    IranianDateRange r = next;
+                    if (r.start < lastStart)
+                        throw new IllegalArgumentException("Unsorted range: " + r);
+                    lastStart = r.start;
+                    if (r.isEmpty()) continue;
+
+                    IranianDateRange p = pending;
+                    if (p == null) {
+                        pending = r;
+                    } else if (r.start <= p.end) {
+                        if (r.end > p.end) pending = new IranianDateRange(p.start, r.end);
+                    } else {
+                        pending = r;
+                        action.accept(p);
+                        return true;
+                    }
+                }
+                if (pending == null)
+                    return false;
+                action.accept(pending);
+                pending = null;
+                return true;
+            }
+        }, false).onClose(sorted::close);
+    }
+
+
+    //-------------------------COMPARISON------------------------------------
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof IranianDateRange other && start == other.start && end == other.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(start * 31 + end);
+    }
+
+
+    //-------------------------PRINTING--------------------------------------
+
+    /** In the ISO-8601 format of intervals, e.g. {@code 6404-01-01/6404-01-14} */
+    @Override
+    public String toString() {
+        return getStart() + "/" + getEnd();
+    }
+
+
+    /**
+     * An immutable index over a collection of ranges, which are sorted by their starts
+     * under a tree of the maximum ends of their subranges, so that the ranges covering a day
+     * or overlapping another range are found in O(log n + k) time, for k results.
+     * The results are reported as positions of the ranges in the original collection,
+     * or as the ranges themselves, in the order of their starts. It can be shared between
+     * threads.
+     */
+    public static final class Index {
+        private final IranianDateRange[] ranges;
+        /** Positions of the ranges in the original collection */
+        private final int[] positions;
+        private final long[] starts;
+        /** The leaves from index {@code size} on hold the ends; each node holds the maximum of its children */
+        private final long[] maxEnds;
+        private final int size;
+
+        public Index(Collection<IranianDateRange> collection) {
+            int n = collection.size();
+            Integer[] order = new Integer[n];
+            IranianDateRange[] original = collection.toArray(new IranianDateRange[0]);
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(original[a].start, original[b].start));
+
+            ranges = new IranianDateRange[n];
+            positions = new int[n];
+            starts = new long[n];
+            size = Math.max(Integer.highestOneBit(Math.max(n, 1) * 2 - 1), 1);
+            maxEnds = new long[size * 2];
+            Arrays.fill(maxEnds, Long.MIN_VALUE);
+            for (int i = 0; i < n; i++) {
+                IranianDateRange range = Objects.requireNonNull(original[order[i]]);
+                ranges[i] = range;
+                positions[i] = order[i];
+                starts[i] = range.start;
+                maxEnds[size + i] = range.isEmpty() ? Long.MIN_VALUE : range.end;
+            }
+            for (int node = size - 1; node > 0; node--)
+                maxEnds[node] = Math.max(maxEnds[node * 2], maxEnds[node * 2 + 1]);
+        }
+
+        public int size() {
+            return ranges.length;
+        }
+
+        public List<IranianDateRange> covering(ChronoLocalDate date) {
+            List<IranianDateRange> result = new ArrayList<>();
+            long epochDay = date.toEpochDay();
+            if (epochDay != Long.MAX_VALUE)
+                search(upperBound(epochDay), epochDay, i -> result.add(ranges[i]));
+            return result;
+        }
+
+        public List<IranianDateRange> overlapping(IranianDateRange range) {
+            List<IranianDateRange> result = new ArrayList<>();
+            if (!range.isEmpty())
+                search(upperBound(range.end - 1), range.start, i -> result.add(ranges[i]));
+            return result;
+        }
+
+        /** Reports the positions of the ranges which contain the day. */
+        public void forEachCovering(long epochDay, IntConsumer action) {
+            if (epochDay != Long.MAX_VALUE)
+                search(upperBound(epochDay), epochDay, i -> action.accept(positions[i]));
+        }
+
+        /** Reports the positions of the ranges which overlap {@code range}. */
+        public void forEachOverlapping(IranianDateRange range, IntConsumer action) {
+            if (!range.isEmpty())
+                search(upperBound(range.end - 1), range.start, i -> action.accept(positions[i]));
+        }
+
+        public boolean anyCovering(long epochDay) {
+            return epochDay != Long.MAX_VALUE && maxEnd(upperBound(epochDay)) > epochDay;
+        }
+
+        public boolean anyOverlapping(IranianDateRange range) {
+            return !range.isEmpty() && maxEnd(upperBound(range.end - 1)) > range.start;
+        }
+
+        /** Number of the ranges which start no later than the day */
+        private int upperBound(long epochDay) {
+            int lo = 0, hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= epochDay) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        /** Maximum end of the ranges before {@code limit} */
+        private long maxEnd(int limit) {
+            long max = Long.MIN_VALUE;
+            for (int lo = size, hi = size + limit; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) max = Math.max(max, maxEnds[lo++]);
+                if ((hi & 1) == 1) max = Math.max(max, maxEnds[--hi]);
+            }
+            return max;
+        }
+
+        /**
+         * Reports, in order, the ranges before {@code limit} whose ends are after {@code after};
+         * only the subtrees whose maximum ends are after it are visited.
+         */
+        private void search(int limit, long after, IntConsumer action) {
+            if (limit == 0 || maxEnds[1] <= after) return;
+            int[] stack = new int[64];
+            int top = 0;
+            stack[top++] = 1;
+            while (top > 0) {
+                int node = stack[--top];
+                if (maxEnds[node] <= after) continue;
+                int level = 31 - Integer.numberOfLeadingZeros(node);
+                int first = (node << (31 - Integer.numberOfLeadingZeros(size) - level)) - size;
+                if (first >= limit) continue;
+                if (node >= size) {
+                    action.accept(node - size);
+                    continue;
+                }
+                stack[top++] = node * 2 + 1;  // popped after the left child
+                stack[top++] = node * 2;
+            }
+        }
+    }
+}
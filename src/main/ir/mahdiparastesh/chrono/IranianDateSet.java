@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.chrono.ChronoLocalDate;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * A mutable set of dates of any chronology, kept as their epoch days without any boxing.
+ * A dense range of dates is iterated in chronological order; otherwise the order is unspecified.
+ * It isn't thread-safe.
+ *
+ * @see IranianDateTable
+ */
+@SuppressWarnings("unused")
+public final class IranianDateSet extends IranianDateTable {
+
+    public IranianDateSet() {
+        super(0);
+    }
+
+    public IranianDateSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public boolean add(ChronoLocalDate date) {
+        return add(date.toEpochDay());
+    }
+
+    /** @return whether the day wasn't in the set */
+    public boolean add(long epochDay) {
+        return insert(epochDay) < 0;
+    }
+
+    public boolean contains(ChronoLocalDate date) {
+        return contains(date.toEpochDay());
+    }
+
+    public boolean contains(long epochDay) {
+        return find(epochDay) >= 0;
+    }
+
+    public boolean remove(ChronoLocalDate date) {
+        return remove(date.toEpochDay());
+    }
+
+    /** @return whether the day was in the set */
+    public boolean remove(long epochDay) {
+        int slot = find(epochDay);
+        if (slot < 0)
+            return false;
+        removeAt(slot);
+        return true;
+    }
+
+    public void forEach(Consumer<? super IranianDate> action) {
+        for (long k : keys)
+            if (k != EMPTY) action.accept(IranianDate.ofEpochDay(k));
+    }
+
+    public void forEachEpochDay(LongConsumer action) {
+        for (long k : keys)
+            if (k != EMPTY) action.accept(k);
+    }
+
+    @Override
+    Object values() {
+        return null;
+    }
+
+    @Override
+    void allocateValues(int capacity) {
+    }
+
+    @Override
+    void copyValue(Object oldValues, int oldSlot, int newSlot) {
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+    }
+
+    @Override
+    void clearValue(int slot) {
+    }
+}
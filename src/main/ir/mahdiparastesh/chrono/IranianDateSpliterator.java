@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of epoch days, which splits at the middle of the range and
+ * walks the days by the boundaries of their months, or one by one if the range reaches
+ * beyond the years of {@link IranianDates}.
+ *
+ * @see IranianDate#datesUntil(java.time.chrono.ChronoLocalDate)
+ */
+final class IranianDateSpliterator implements Spliterator<IranianDate> {
+
+    private long next;
+    private final long end;
+    /** Null if the range isn't within the packed range */
+    private final IranianDates.Cursor cursor;
+
+    IranianDateSpliterator(long startInclusive, long endExclusive) {
+        this.next = startInclusive;
+        this.end = endExclusive;
+        this.cursor = startInclusive >= endExclusive || (IranianDates.EPOCH_DAY_RANGE.isValidValue(startInclusive)
+                && IranianDates.EPOCH_DAY_RANGE.isValidValue(endExclusive - 1)) ? new IranianDates.Cursor() : null;
+    }
+
+    private IranianDate date(long epochDay) {
+        return cursor != null ? IranianDate.ofValidPacked(cursor.pack(epochDay), epochDay)
+                : IranianDate.ofEpochDay(epochDay);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super IranianDate> action) {
+        if (next >= end)
+            return false;
+        action.accept(date(next++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super IranianDate> action) {
+        long epochDay = next, end = this.end;
+        next = end;
+        for (; epochDay < end; epochDay++)
+            action.accept(date(epochDay));
+    }
+
+    @Override
+    public Spliterator<IranianDate> trySplit() {
+        long mid = next + (end - next) / 2;
+        if (mid <= next)
+            return null;
+        var prefix = new IranianDateSpliterator(next, mid);
+        next = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - next;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+    }
+
+    @Override
+    public Comparator<? super IranianDate> getComparator() {
+        return null;  // natural order
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.util.Arrays;
+
+import static java.time.temporal.ChronoField.EPOCH_DAY;
+
+/**
+ * Slots of the keys of {@link IranianDateSet}, {@link IranianDateLongMap} and
+ * {@link IranianDateMap}, which are epoch days in a {@code long[]}; the subclasses keep their
+ * values in parallel arrays.
+ * <p>
+ * When the keys span no more days than a hash table would have slots, the slot of a key is
+ * just its offset from a base day, which keeps dense ranges of dates in chronological order
+ * without hashing at all. Otherwise the keys are hashed (Fibonacci hashing) into a table with
+ * linear probing, at most half full, whose deletions shift the following keys back instead
+ * of leaving tombstones. The mode is chosen again whenever the table is rebuilt.
+ * <p>
+ * The keys must be epoch days of valid IranianDates, whose span cannot overflow a long.
+ */
+abstract sealed class IranianDateTable permits IranianDateSet, IranianDateLongMap, IranianDateMap {
+
+    /** Marks the free slots; no valid date has this epoch day. */
+    static final long EMPTY = Long.MIN_VALUE;
+    /** Returned by {@link #find(long)} when no slot can take the key without a rebuild */
+    private static final int NO_SLOT = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 8;
+
+    long[] keys = new long[0];
+    private boolean dense;
+    /** Epoch day of slot 0 in the dense mode */
+    private long base;
+    /** 64 - log2(capacity), in the hashed mode */
+    private int shift;
+    int size;
+
+    IranianDateTable(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Negative expected size: " + expectedSize);
+        if (expectedSize > 0)
+            allocate(capacity(expectedSize), false, 0);
+    }
+
+    /** Saves the values of the current slots before a rebuild. */
+    abstract Object values();
+
+    abstract void allocateValues(int capacity);
+
+    abstract void copyValue(Object oldValues, int oldSlot, int newSlot);
+
+    abstract void moveValue(int from, int to);
+
+    abstract void clearValue(int slot);
+
+
+    //-------------------------SLOTS-----------------------------------------
+
+    /**
+     * The slot of a key if it's present, otherwise the complement of the slot where it would
+     * be inserted, or {@link #NO_SLOT}.
+     */
+    final int find(long epochDay) {
+        if (epochDay == EMPTY)
+            return NO_SLOT;
+        long[] keys = this.keys;
+        if (dense) {
+            long i = epochDay - base;
+            if (i < 0 || i >= keys.length)
+                return NO_SLOT;
+            return keys[(int) i] == epochDay ? (int) i : ~(int) i;
+        }
+        if (keys.length == 0)
+            return NO_SLOT;
+        int mask = keys.length - 1;
+        for (int i = hash(epochDay); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == epochDay) return i;
+            if (k == EMPTY) return ~i;
+        }
+    }
+
+    private int hash(long epochDay) {
+        return (int) ((epochDay * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /** The slot of a key which is present, or the complement of the slot where it was just put */
+    final int insert(long epochDay) {
+        IranianDate.EPOCH_DAY_RANGE.checkValidValue(epochDay, EPOCH_DAY);
+        int slot = find(epochDay);
+        if (slot >= 0)
+            return slot;
+        if (slot == NO_SLOT || (!dense && size + 1 > keys.length >>> 1)) {
+            rebuild(epochDay);
+            slot = find(epochDay);
+        }
+        slot = ~slot;
+        keys[slot] = epochDay;
+        size++;
+        return ~slot;
+    }
+
+    final void removeAt(int slot) {
+        size--;
+        if (!dense) {  // shift back the keys which cannot be found across the hole
+            int mask = keys.length - 1;
+            for (int i = (slot + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (((i - hash(keys[i])) & mask) >= ((i - slot) & mask)) {
+                    keys[slot] = keys[i];
+                    moveValue(i, slot);
+                    slot = i;
+                }
+            }
+        }
+        keys[slot] = EMPTY;
+        clearValue(slot);
+    }
+
+    /** Makes room for one more key, choosing the mode by the span of the keys. */
+    private void rebuild(long extraKey) {
+        long min = extraKey, max = extraKey;
+        for (long k : keys)
+            if (k != EMPTY) {
+                min = Math.min(min, k);
+                max = Math.max(max, k);
+            }
+        int capacity = capacity(size + 1);
+        long span = max - min + 1;  // no overflow, as the keys are validated
+        long[] oldKeys = keys;
+        Object oldValues = values();
+        if (span <= capacity)  // centred, so that it can grow both ways
+            allocate(capacity, true, min - (capacity - span) / 2);
+        else
+            allocate(capacity, false, 0);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k == EMPTY) continue;
+            int slot = ~find(k);
+            keys[slot] = k;
+            copyValue(oldValues, i, slot);
+        }
+    }
+
+    private void allocate(int capacity, boolean dense, long base) {
+        this.keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        this.dense = dense;
+        this.base = base;
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        allocateValues(capacity);
+    }
+
+    /** A power of two which keeps a hash table of {@code size} keys at most half full */
+    private static int capacity(int size) {
+        if (size > 1 << 29)
+            throw new IllegalStateException("Too many dates: " + size);
+        return Math.max(Integer.highestOneBit(size * 2 - 1) << 1, MIN_CAPACITY);
+    }
+
+
+    //-------------------------COMMON----------------------------------------
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != EMPTY) {
+                keys[i] = EMPTY;
+                clearValue(i);
+            }
+        size = 0;
+    }
+
+    /** The keys in ascending order */
+    public long[] toEpochDays() {
+        long[] result = new long[size];
+        int n = 0;
+        for (long k : keys)
+            if (k != EMPTY) result[n++] = k;
+        if (!dense) Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.temporal.ValueRange;
+import java.util.Objects;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Static utilities for dates packed into an int as {@code year << 9 | month << 5 | day},
+ * for the hot paths which cannot afford an {@link IranianDate} per value.
+ * They give the same results as their counterparts in IranianDate, but the years are
+ * limited to [-4194304, 4194303]. Packed dates sort in the chronological order.
+ */
+@SuppressWarnings("unused")
+public final class IranianDates {
+
+    static final ValueRange YEAR_RANGE = ValueRange.of(-(1 << 22), (1 << 22) - 1);
+    /** Epoch days of the 1st of Farvardin -4194304 and the last day of 4194303 */
+    static final ValueRange EPOCH_DAY_RANGE = ValueRange.of(-1537436120L, 1529618750L);
+
+    private IranianDates() {
+    }
+
+
+    //-------------------------BUILDERS--------------------------------------
+
+    public static int pack(int year, int month, int day) {
+        YEAR_RANGE.checkValidValue(year, YEAR);
+        MONTH_OF_YEAR.checkValidValue(month);
+        IranianChronology.INSTANCE.range(DAY_OF_MONTH).checkValidValue(day, DAY_OF_MONTH);
+        if (month == 12 && day == 30 && !IranianChronology.INSTANCE.isLeapYear(year))
+            throw new DateTimeException("Year " + year + " is not a leap year!");
+        if (day == 31 && month > 6)
+            throw new DateTimeException("Invalid date: month " + month + " has fewer than 31 days");
+        return pack0(year, month, day);
+    }
+
+    static int pack0(int year, int month, int day) {
+        return (year << 9) | (month << 5) | day;
+    }
+
+    public static int fromEpochDay(long epochDay) {
+        EPOCH_DAY_RANGE.checkValidValue(epochDay, EPOCH_DAY);
+        int year = (int) IranianChronology.yearOfEpochDay(epochDay);
+        return packYearDay(year, (int) (epochDay - IranianChronology.yearStart(year)) + 1);
+    }
+
+    private static int packYearDay(int year, int dayOfYear) {
+        int month = IranianDate.monthOfYearDay(dayOfYear);
+        return pack0(year, month, dayOfYear - IranianDate.DAYS_BEFORE_MONTH[month - 1]);
+    }
+
+
+    //-------------------------BULK------------------------------------------
+
+    /**
+     * Converts {@code length} epoch days from {@code epochDays[offset]} on into packed dates
+     * from {@code packed[packedOffset]} on.
+     */
+    public static void fromEpochDays(
+            long[] epochDays, int offset, int[] packed, int packedOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        Objects.checkFromIndexSize(packedOffset, length, packed.length);
+        var cursor = new Cursor();
+        for (int i = 0; i < length; i++)
+            packed[packedOffset + i] = cursor.pack(epochDays[offset + i]);
+    }
+
+    /**
+     * @see #fromEpochDays(long[], int, int[], int, int)
+     */
+    public static void fromEpochDays(
+            int[] epochDays, int offset, int[] packed, int packedOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        Objects.checkFromIndexSize(packedOffset, length, packed.length);
+        var cursor = new Cursor();
+        for (int i = 0; i < length; i++)
+            packed[packedOffset + i] = cursor.pack(epochDays[offset + i]);
+    }
+
+    /**
+     * Converts {@code length} epoch days from {@code epochDays[offset]} on into separate
+     * years, months and days from index {@code fieldsOffset} on.
+     */
+    public static void fromEpochDays(
+            long[] epochDays, int offset, int[] years, int[] months, int[] days, int fieldsOffset, int length) {
+        Objects.checkFromIndexSize(fieldsOffset, length, years.length);
+        Objects.checkFromIndexSize(fieldsOffset, length, months.length);
+        fromEpochDays(epochDays, offset, days, fieldsOffset, length);
+        unpack(years, months, days, fieldsOffset, length);
+    }
+
+    /**
+     * @see #fromEpochDays(long[], int, int[], int[], int[], int, int)
+     */
+    public static void fromEpochDays(
+            int[] epochDays, int offset, int[] years, int[] months, int[] days, int fieldsOffset, int length) {
+        Objects.checkFromIndexSize(fieldsOffset, length, years.length);
+        Objects.checkFromIndexSize(fieldsOffset, length, months.length);
+        fromEpochDays(epochDays, offset, days, fieldsOffset, length);
+        unpack(years, months, days, fieldsOffset, length);
+    }
+
+    /** Unpacks the packed dates which are temporarily held in {@code days} */
+    private static void unpack(int[] years, int[] months, int[] days, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            int packed = days[i];
+            years[i] = year(packed);
+            months[i] = month(packed);
+            days[i] = day(packed);
+        }
+    }
+
+    /**
+     * Converts {@code length} packed dates from {@code packed[offset]} on into epoch days
+     * from {@code epochDays[epochDaysOffset]} on.
+     */
+    public static void toEpochDays(
+            int[] packed, int offset, long[] epochDays, int epochDaysOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, packed.length);
+        Objects.checkFromIndexSize(epochDaysOffset, length, epochDays.length);
+        long start = 0;
+        int year = 0;
+        for (int i = 0; i < length; i++) {
+            int date = packed[offset + i];
+            if (year(date) != year || i == 0) {
+                year = year(date);
+                start = IranianChronology.yearStart(year);
+            }
+            epochDays[epochDaysOffset + i] = start + dayOfYear(date) - 1;
+        }
+    }
+
+    /**
+     * Converts {@code length} dates given as separate years, months and days from index
+     * {@code fieldsOffset} on into epoch days from {@code epochDays[epochDaysOffset]} on;
+     * the fields are validated like {@link #pack(int, int, int)}.
+     */
+    public static void toEpochDays(
+            int[] years, int[] months, int[] days, int fieldsOffset, long[] epochDays, int epochDaysOffset, int length) {
+        Objects.checkFromIndexSize(fieldsOffset, length, years.length);
+        Objects.checkFromIndexSize(fieldsOffset, length, months.length);
+        Objects.checkFromIndexSize(fieldsOffset, length, days.length);
+        Objects.checkFromIndexSize(epochDaysOffset, length, epochDays.length);
+        long start = 0;
+        int year = 0;
+        for (int i = 0; i < length; i++) {
+            int date = pack(years[fieldsOffset + i], months[fieldsOffset + i], days[fieldsOffset + i]);
+            if (year(date) != year || i == 0) {
+                year = year(date);
+                start = IranianChronology.yearStart(year);
+            }
+            epochDays[epochDaysOffset + i] = start + dayOfYear(date) - 1;
+        }
+    }
+
+
+    /**
+     * Remembers the month and the year of the previous element of a bulk conversion,
+     * so that sorted or nearly sorted input rarely has to look up a year.
+     */
+    static final class Cursor {
+        private long yearStart, yearEnd, monthStart, monthEnd;
+        private int year, monthBase;
+
+        int pack(long epochDay) {
+            if (epochDay >= monthStart && epochDay < monthEnd)
+                return monthBase + (int) (epochDay - monthStart);
+
+            if (epochDay < yearStart || epochDay >= yearEnd) {
+                EPOCH_DAY_RANGE.checkValidValue(epochDay, EPOCH_DAY);
+                year = (int) IranianChronology.yearOfEpochDay(epochDay);
+                yearStart = IranianChronology.yearStart(year);
+                yearEnd = IranianChronology.yearStart(year + 1L);
+            }
+            int month = IranianDate.monthOfYearDay((int) (epochDay - yearStart) + 1);
+            monthStart = yearStart + IranianDate.DAYS_BEFORE_MONTH[month - 1];
+            monthEnd = (month < 12) ? yearStart + IranianDate.DAYS_BEFORE_MONTH[month] : yearEnd;
+            monthBase = pack0(year, month, 1);
+            return monthBase + (int) (epochDay - monthStart);
+        }
+    }
+
+
+    //-------------------------GETTERS---------------------------------------
+
+    public static int year(int packed) {
+        return packed >> 9;
+    }
+
+    public static int month(int packed) {
+        return (packed >>> 5) & 0xF;
+    }
+
+    public static int day(int packed) {
+        return packed & 0x1F;
+    }
+
+    public static int dayOfYear(int packed) {
+        return IranianDate.DAYS_BEFORE_MONTH[month(packed) - 1] + day(packed);
+    }
+
+    public static long toEpochDay(int packed) {
+        return IranianChronology.yearStart(year(packed)) + dayOfYear(packed) - 1;
+    }
+
+    public static DayOfWeek dayOfWeek(int packed) {
+        return DayOfWeek.of(Math.floorMod(toEpochDay(packed) + 3, 7) + 1);
+    }
+
+    public static boolean isLeapYear(int packed) {
+        return IranianChronology.INSTANCE.isLeapYear(year(packed));
+    }
+
+
+    //-------------------------COMPARISON------------------------------------
+
+    public static int compare(int packed1, int packed2) {
+        return Integer.compare(packed1, packed2);
+    }
+
+
+    //-------------------------MUTATION-------------------------------------
+
+    public static int plusDays(int packed, long daysToAdd) {
+        if (daysToAdd == 0) {
+            return packed;
+        }
+        return fromEpochDay(Math.addExact(toEpochDay(packed), daysToAdd));
+    }
+
+    public static int plusMonths(int packed, long monthsToAdd) {
+        if (monthsToAdd == 0) {
+            return packed;
+        }
+        long monthCount = year(packed) * 12L + (month(packed) - 1);
+        long calcMonths = monthCount + monthsToAdd;  // safe overflow
+        int newYear = YEAR_RANGE.checkValidIntValue(Math.floorDiv(calcMonths, 12), YEAR);
+        int newMonth = Math.floorMod(calcMonths, 12) + 1;
+        return pack0(newYear, newMonth, IranianDate.previousValidDay(newYear, newMonth, day(packed)));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+
+/**
+ * Converts epoch milliseconds into dates of a time-zone, for long runs of timestamps which
+ * are sorted or clustered in time. It remembers the period between the two transitions of
+ * the zone's offset around the last timestamp and the bounds of its day in milliseconds,
+ * so that the following timestamps of the same day resolve through a range check without
+ * any allocation.
+ * <p>
+ * It is not thread-safe; use one per thread. The dates are limited to the years of
+ * {@link IranianDates}.
+ */
+@SuppressWarnings("unused")
+public final class IranianInstantConverter {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final IranianDates.Cursor cursor = new IranianDates.Cursor();
+
+    /** Epoch millis of the period of a constant offset, and the offset itself */
+    private long offsetStart, offsetEnd;
+    private int offsetMillis;
+    /** Epoch millis of the current day within that period, and the day itself */
+    private long dayStart, dayEnd, epochDay;
+    private int packed;
+    /** Created only on demand */
+    private IranianDate date;
+
+    public IranianInstantConverter(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+
+    //-------------------------CONVERSION------------------------------------
+
+    public IranianDate date(long epochMilli) {
+        if (epochMilli < dayStart || epochMilli >= dayEnd)
+            locate(epochMilli);
+        IranianDate d = date;
+        if (d == null)
+            date = d = IranianDate.ofEpochDay(epochDay, cursor);
+        return d;
+    }
+
+    public IranianDate date(Instant instant) {
+        return date(instant.toEpochMilli());
+    }
+
+    /** The date as packed by {@link IranianDates} */
+    public int packed(long epochMilli) {
+        if (epochMilli < dayStart || epochMilli >= dayEnd)
+            locate(epochMilli);
+        return packed;
+    }
+
+    public long epochDay(long epochMilli) {
+        if (epochMilli < dayStart || epochMilli >= dayEnd)
+            locate(epochMilli);
+        return epochDay;
+    }
+
+    private void locate(long epochMilli) {
+        if (epochMilli < offsetStart || epochMilli >= offsetEnd) {
+            // transitions happen at whole seconds.
+            Instant second = Instant.ofEpochSecond(Math.floorDiv(epochMilli, 1000L));
+            ZoneOffsetTransition
+                    previous = rules.previousTransition(second.plusNanos(1)),  // inclusive
+                    next = rules.nextTransition(second);
+            offsetMillis = rules.getOffset(second).getTotalSeconds() * 1000;
+            offsetStart = (previous == null) ? Long.MIN_VALUE : previous.toEpochSecond() * 1000L;
+            offsetEnd = (next == null) ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+        }
+        long day = Math.floorDiv(epochMilli, MILLIS_PER_DAY) +  // no overflow
+                Math.floorDiv(Math.floorMod(epochMilli, MILLIS_PER_DAY) + offsetMillis, MILLIS_PER_DAY);
+        packed = cursor.pack(day);  // validates the day before the fields below change
+        epochDay = day;
+        date = null;
+        long start = day * MILLIS_PER_DAY - offsetMillis;
+        dayStart = Math.max(start, offsetStart);
+        dayEnd = Math.min(start + MILLIS_PER_DAY, offsetEnd);
+    }
+
+
+    //-------------------------BULK------------------------------------------
+
+    /**
+     * Converts {@code length} epoch millis from {@code epochMillis[offset]} on into dates
+     * from {@code dates[datesOffset]} on; consecutive timestamps of a day share one instance.
+     */
+    public void fromEpochMillis(
+            long[] epochMillis, int offset, IranianDate[] dates, int datesOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochMillis.length);
+        Objects.checkFromIndexSize(datesOffset, length, dates.length);
+        for (int i = 0; i < length; i++)
+            dates[datesOffset + i] = date(epochMillis[offset + i]);
+    }
+
+    /**
+     * Converts {@code length} epoch millis from {@code epochMillis[offset]} on into packed
+     * dates from {@code packed[packedOffset]} on.
+     */
+    public void fromEpochMillis(
+            long[] epochMillis, int offset, int[] packed, int packedOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochMillis.length);
+        Objects.checkFromIndexSize(packedOffset, length, packed.length);
+        for (int i = 0; i < length; i++)
+            packed[packedOffset + i] = packed(epochMillis[offset + i]);
+    }
+
+    /**
+     * Converts {@code length} epoch millis from {@code epochMillis[offset]} on into epoch days
+     * from {@code epochDays[epochDaysOffset]} on.
+     */
+    public void fromEpochMillis(
+            long[] epochMillis, int offset, long[] epochDays, int epochDaysOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochMillis.length);
+        Objects.checkFromIndexSize(epochDaysOffset, length, epochDays.length);
+        for (int i = 0; i < length; i++)
+            epochDays[epochDaysOffset + i] = epochDay(epochMillis[offset + i]);
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import jdk.jfr.*;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the conversion hot paths, which are only kept if the system property
+ * {@code ir.mahdiparastesh.chrono.metrics} is set; otherwise {@link #ENABLED} is a constant
+ * false to the JIT compiler and the instrumentation is compiled away. When they're enabled,
+ * the slow conversions and {@link IranianChronology#date(java.time.temporal.TemporalAccessor)}
+ * also emit Flight Recorder events, and the counters are emitted periodically.
+ * They can be read here or through {@link #registerMBean()}.
+ */
+@SuppressWarnings("unused")
+public final class IranianMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("ir.mahdiparastesh.chrono.metrics");
+
+    static final LongAdder
+            fromEpochDay = new LongAdder(),
+            toEpochDay = new LongAdder(),
+            slowFromEpochDay = new LongAdder(),
+            slowToEpochDay = new LongAdder(),
+            searchIterations = new LongAdder(),
+            chronologyDates = new LongAdder(),
+            chronologyNanos = new LongAdder(),
+            invalidDates = new LongAdder();
+
+    static {
+        if (ENABLED) FlightRecorder.addPeriodicEvent(CountersEvent.class, CountersEvent::emit);
+    }
+
+    private IranianMetrics() {
+    }
+
+
+    //-------------------------HOOKS-----------------------------------------
+
+    /** Called by the year search out of the table of year starts, when it has found the year. */
+    static void slowFromEpochDay(long epochDay, long year, int iterations) {
+        slowFromEpochDay.increment();
+        searchIterations.add(iterations);
+        SlowConversionEvent event = new SlowConversionEvent();
+        if (event.shouldCommit()) {
+            event.epochDay = epochDay;
+            event.year = year;
+            event.iterations = iterations;
+            event.commit();
+        }
+    }
+
+    static void slowToEpochDay(long year) {
+        slowToEpochDay.increment();
+        SlowConversionEvent event = new SlowConversionEvent();
+        if (event.shouldCommit()) {
+            event.year = year;
+            event.commit();
+        }
+    }
+
+    /** Called by IranianChronology.date(TemporalAccessor) after a successful conversion. */
+    static void chronologyDate(Class<?> source, long epochDay, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        chronologyDates.increment();
+        chronologyNanos.add(nanos);
+        ChronologyDateEvent event = new ChronologyDateEvent();
+        if (event.isEnabled()) {
+            event.source = source;
+            event.epochDay = epochDay;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+
+    //-------------------------GETTERS---------------------------------------
+
+    /** Calls of {@link IranianDate#ofEpochDay(long)} */
+    public static long fromEpochDayCount() {
+        return fromEpochDay.sum();
+    }
+
+    /** Epoch days which weren't cached in their IranianDate yet */
+    public static long toEpochDayCount() {
+        return toEpochDay.sum();
+    }
+
+    /** Years looked up out of the table of year starts, by a search from the mean year length */
+    public static long slowFromEpochDayCount() {
+        return slowFromEpochDay.sum();
+    }
+
+    /** Year starts computed out of the table of year starts, by counting the leap years */
+    public static long slowToEpochDayCount() {
+        return slowToEpochDay.sum();
+    }
+
+    /** Iterations of the corrections of the slow year searches */
+    public static long searchIterationCount() {
+        return searchIterations.sum();
+    }
+
+    /** Calls of {@link IranianChronology#date(java.time.temporal.TemporalAccessor)} */
+    public static long chronologyDateCount() {
+        return chronologyDates.sum();
+    }
+
+    /** Total nanoseconds spent in {@link IranianChronology#date(java.time.temporal.TemporalAccessor)} */
+    public static long chronologyDateNanos() {
+        return chronologyNanos.sum();
+    }
+
+    /** Exceptions thrown by {@link IranianDate#of(int, int, int)} and {@link IranianDate#ofYearDay(int, int)} */
+    public static long invalidDateCount() {
+        return invalidDates.sum();
+    }
+
+    /** @see IranianDate.Cache#hits() */
+    public static long cacheHitCount() {
+        return IranianDate.Cache.hits();
+    }
+
+    /** @see IranianDate.Cache#misses() */
+    public static long cacheMissCount() {
+        return IranianDate.Cache.misses();
+    }
+
+    /** All the counters by their names, as they are named in the MBean and the events */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("FromEpochDayCount", fromEpochDayCount());
+        counters.put("ToEpochDayCount", toEpochDayCount());
+        counters.put("SlowFromEpochDayCount", slowFromEpochDayCount());
+        counters.put("SlowToEpochDayCount", slowToEpochDayCount());
+        counters.put("SearchIterationCount", searchIterationCount());
+        counters.put("ChronologyDateCount", chronologyDateCount());
+        counters.put("ChronologyDateNanos", chronologyDateNanos());
+        counters.put("InvalidDateCount", invalidDateCount());
+        counters.put("CacheHitCount", cacheHitCount());
+        counters.put("CacheMissCount", cacheMissCount());
+        return counters;
+    }
+
+    /** Sets all the counters to zero, except those of the cache. */
+    public static void reset() {
+        for (LongAdder adder : new LongAdder[]{fromEpochDay, toEpochDay, slowFromEpochDay, slowToEpochDay,
+                searchIterations, chronologyDates, chronologyNanos, invalidDates})
+            adder.reset();
+    }
+
+
+    //-------------------------JMX-------------------------------------------
+
+    public static final String OBJECT_NAME = "ir.mahdiparastesh.chrono:type=IranianMetrics";
+
+    /**
+     * Registers the counters in the platform MBean server as {@link #OBJECT_NAME},
+     * unless they are there already.
+     *
+     * @throws IllegalStateException if the metrics aren't enabled
+     */
+    public static synchronized void registerMBean() {
+        if (!ENABLED)
+            throw new IllegalStateException("Set ir.mahdiparastesh.chrono.metrics to enable the metrics.");
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(new Counters(), name);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public interface CountersMXBean {
+        long getFromEpochDayCount();
+
+        long getToEpochDayCount();
+
+        long getSlowFromEpochDayCount();
+
+        long getSlowToEpochDayCount();
+
+        long getSearchIterationCount();
+
+        long getChronologyDateCount();
+
+        long getChronologyDateNanos();
+
+        long getInvalidDateCount();
+
+        long getCacheHitCount();
+
+        long getCacheMissCount();
+
+        void reset();
+    }
+
+    private static final class Counters implements CountersMXBean {
+        @Override
+        public long getFromEpochDayCount() {
+            return fromEpochDayCount();
+        }
+
+        @Override
+        public long getToEpochDayCount() {
+            return toEpochDayCount();
+        }
+
+        @Override
+        public long getSlowFromEpochDayCount() {
+            return slowFromEpochDayCount();
+        }
+
+        @Override
+        public long getSlowToEpochDayCount() {
+            return slowToEpochDayCount();
+        }
+
+        @Override
+        public long getSearchIterationCount() {
+            return searchIterationCount();
+        }
+
+        @Override
+        public long getChronologyDateCount() {
+            return chronologyDateCount();
+        }
+
+        @Override
+        public long getChronologyDateNanos() {
+            return chronologyDateNanos();
+        }
+
+        @Override
+        public long getInvalidDateCount() {
+            return invalidDateCount();
+        }
+
+        @Override
+        public long getCacheHitCount() {
+            return cacheHitCount();
+        }
+
+        @Override
+        public long getCacheMissCount() {
+            return cacheMissCount();
+        }
+
+        @Override
+        public void reset() {
+            IranianMetrics.reset();
+        }
+    }
+
+
+    //-------------------------EVENTS----------------------------------------
+
+    @Name("ir.mahdiparastesh.chrono.SlowConversion")
+    @Label("Slow Iranian Date Conversion")
+    @Category("Iranian Chronology")
+    @Description("A year which was computed out of the table of year starts")
+    @StackTrace(false)
+    static final class SlowConversionEvent extends Event {
+        @Label("Epoch Day")
+        long epochDay;
+        @Label("Year")
+        long year;
+        @Label("Iterations")
+        int iterations;
+    }
+
+    @Name("ir.mahdiparastesh.chrono.ChronologyDate")
+    @Label("Iranian Chronology Date")
+    @Category("Iranian Chronology")
+    @Description("A conversion of a temporal object by IranianChronology.date()")
+    @StackTrace(false)
+    @Enabled(false)
+    static final class ChronologyDateEvent extends Event {
+        @Label("Source")
+        Class<?> source;
+        @Label("Epoch Day")
+        long epochDay;
+        @Label("Duration")
+        @Timespan
+        long nanos;
+    }
+
+    @Name("ir.mahdiparastesh.chrono.Counters")
+    @Label("Iranian Chronology Counters")
+    @Category("Iranian Chronology")
+    @Period("10 s")
+    @StackTrace(false)
+    static final class CountersEvent extends Event {
+        @Label("Conversions from Epoch Days")
+        long fromEpochDayCount;
+        @Label("Conversions to Epoch Days")
+        long toEpochDayCount;
+        @Label("Slow Conversions from Epoch Days")
+        long slowFromEpochDayCount;
+        @Label("Slow Conversions to Epoch Days")
+        long slowToEpochDayCount;
+        @Label("Search Iterations")
+        long searchIterationCount;
+        @Label("Chronology Dates")
+        long chronologyDateCount;
+        @Label("Time in Chronology Dates")
+        @Timespan
+        long chronologyDateNanos;
+        @Label("Invalid Dates")
+        long invalidDateCount;
+        @Label("Cache Hits")
+        long cacheHitCount;
+        @Label("Cache Misses")
+        long cacheMissCount;
+
+        static void emit() {
+            CountersEvent event = new CountersEvent();
+            event.fromEpochDayCount = fromEpochDayCount();
+            event.toEpochDayCount = toEpochDayCount();
+            event.slowFromEpochDayCount = slowFromEpochDayCount();
+            event.slowToEpochDayCount = slowToEpochDayCount();
+            event.searchIterationCount = searchIterationCount();
+            event.chronologyDateCount = chronologyDateCount();
+            event.chronologyDateNanos = chronologyDateNanos();
+            event.invalidDateCount = invalidDateCount();
+            event.cacheHitCount = cacheHitCount();
+            event.cacheMissCount = cacheMissCount();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.DayOfWeek;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAdjuster;
+import java.util.Objects;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Counterparts of {@link java.time.temporal.TemporalAdjusters} in the Iranian calendar, which
+ * compute their results directly from the fields of an IranianDate; any other temporal which
+ * supports {@link java.time.temporal.ChronoField#EPOCH_DAY} is adjusted by its Iranian date,
+ * e.g. {@code LocalDate.with(firstDayOfMonth())} gives the 1st of the Iranian month.
+ * The quarters are the seasons, each of 3 months.
+ */
+@SuppressWarnings("unused")
+public final class IranianTemporalAdjusters {
+
+    private IranianTemporalAdjusters() {
+    }
+
+    /** An adjuster which {@link IranianDate#with(TemporalAdjuster)} applies without conversions */
+    @FunctionalInterface
+    interface Adjuster extends TemporalAdjuster {
+
+        IranianDate adjust(IranianDate date);
+
+        @Override
+        default Temporal adjustInto(Temporal temporal) {
+            if (temporal instanceof IranianDate date)
+                return adjust(date);
+            return temporal.with(EPOCH_DAY, adjust(IranianChronology.INSTANCE.date(temporal)).toEpochDay());
+        }
+    }
+
+    private static final Adjuster
+            FIRST_DAY_OF_MONTH = date -> IranianDate.ofValid(
+                    date.get(YEAR), date.get(MONTH_OF_YEAR), 1),
+            LAST_DAY_OF_MONTH = date -> IranianDate.ofValid(
+                    date.get(YEAR), date.get(MONTH_OF_YEAR), date.lengthOfMonth()),
+            FIRST_DAY_OF_NEXT_MONTH = date -> date.get(MONTH_OF_YEAR) == 12
+                    ? IranianDate.of(date.get(YEAR) + 1, 1, 1)
+                    : IranianDate.ofValid(date.get(YEAR), date.get(MONTH_OF_YEAR) + 1, 1),
+            FIRST_DAY_OF_YEAR = date -> IranianDate.ofValid(date.get(YEAR), 1, 1),
+            LAST_DAY_OF_YEAR = date -> IranianDate.ofValid(date.get(YEAR), 12, date.isLeapYear() ? 30 : 29),
+            FIRST_DAY_OF_NEXT_YEAR = date -> IranianDate.of(date.get(YEAR) + 1, 1, 1),
+            NEXT_OR_SAME_NOWRUZ = date -> date.get(DAY_OF_YEAR) == 1
+                    ? date : IranianDate.of(date.get(YEAR) + 1, 1, 1),
+            FIRST_DAY_OF_QUARTER = date -> IranianDate.ofValid(
+                    date.get(YEAR), (date.get(MONTH_OF_YEAR) - 1) / 3 * 3 + 1, 1),
+            LAST_DAY_OF_QUARTER = date -> {
+                int month = (date.get(MONTH_OF_YEAR) - 1) / 3 * 3 + 3;
+                int day = switch (month) {
+                    case 3, 6 -> 31;
+                    case 9 -> 30;
+                    default -> date.isLeapYear() ? 30 : 29;
+                };
+                return IranianDate.ofValid(date.get(YEAR), month, day);
+            };
+
+
+    //-------------------------MONTHS----------------------------------------
+
+    public static TemporalAdjuster firstDayOfMonth() {
+        return FIRST_DAY_OF_MONTH;
+    }
+
+    public static TemporalAdjuster lastDayOfMonth() {
+        return LAST_DAY_OF_MONTH;
+    }
+
+    public static TemporalAdjuster firstDayOfNextMonth() {
+        return FIRST_DAY_OF_NEXT_MONTH;
+    }
+
+    /**
+     * The {@code ordinal}th {@code dayOfWeek} of the month, with the same semantics as
+     * {@link java.time.temporal.TemporalAdjusters#dayOfWeekInMonth(int, DayOfWeek)}:
+     * a negative ordinal counts from the end of the month, and 0 gives the last one
+     * in the previous month.
+     */
+    public static TemporalAdjuster dayOfWeekInMonth(int ordinal, DayOfWeek dayOfWeek) {
+        Objects.requireNonNull(dayOfWeek, "dayOfWeek");
+        int dow = dayOfWeek.getValue();
+        if (ordinal >= 0) {
+            return (Adjuster) date -> {
+                long first = date.toEpochDay() - date.get(DAY_OF_MONTH) + 1;
+                int diff = Math.floorMod(dow - dayOfWeek(first), 7);
+                return IranianDate.ofEpochDay(first + diff + (ordinal - 1) * 7L);
+            };
+        }
+        return (Adjuster) date -> {
+            long last = date.toEpochDay() - date.get(DAY_OF_MONTH) + date.lengthOfMonth();
+            int diff = Math.floorMod(dayOfWeek(last) - dow, 7);
+            return IranianDate.ofEpochDay(last - diff + (ordinal + 1) * 7L);
+        };
+    }
+
+    public static TemporalAdjuster firstInMonth(DayOfWeek dayOfWeek) {
+        return dayOfWeekInMonth(1, dayOfWeek);
+    }
+
+    public static TemporalAdjuster lastInMonth(DayOfWeek dayOfWeek) {
+        return dayOfWeekInMonth(-1, dayOfWeek);
+    }
+
+    /** ISO day of week of an epoch day, from Monday (1) to Sunday (7) */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L) + 1;
+    }
+
+
+    //-------------------------QUARTERS--------------------------------------
+
+    public static TemporalAdjuster firstDayOfQuarter() {
+        return FIRST_DAY_OF_QUARTER;
+    }
+
+    public static TemporalAdjuster lastDayOfQuarter() {
+        return LAST_DAY_OF_QUARTER;
+    }
+
+
+    //-------------------------YEARS-----------------------------------------
+
+    public static TemporalAdjuster firstDayOfYear() {
+        return FIRST_DAY_OF_YEAR;
+    }
+
+    public static TemporalAdjuster lastDayOfYear() {
+        return LAST_DAY_OF_YEAR;
+    }
+
+    public static TemporalAdjuster firstDayOfNextYear() {
+        return FIRST_DAY_OF_NEXT_YEAR;
+    }
+
+    /** The 1st of Farvardin of this year if it is the date itself, or else of the next year */
+    public static TemporalAdjuster nextOrSameNowruz() {
+        return NEXT_OR_SAME_NOWRUZ;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+
+package ir.mahdiparastesh.chrono;
+
+import java.time.DayOfWeek;
+import java.time.temporal.*;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Week fields of the Iranian calendar, whose weeks start on Saturday and whose first week of a
+ * year is the one containing the 1st of Farvardin; they number the weeks the same as
+ * {@link #WEEK_FIELDS}, but are computed directly from the day of week of the year's start,
+ * so a lookup costs no more than a single epoch day, which IranianDate already caches.
+ * They can be used on any temporal which supports {@link ChronoField#EPOCH_DAY}.
+ */
+@SuppressWarnings("unused")
+public final class IranianWeekFields {
+
+    /** The equivalent, but generic, definition of the weeks in java.time */
+    public static final WeekFields WEEK_FIELDS = WeekFields.of(DayOfWeek.SATURDAY, 1);
+
+    /** Day of week from Saturday (1) to Friday (7) */
+    public static final TemporalField DAY_OF_WEEK = Field.DAY_OF_WEEK;
+    public static final TemporalField WEEK_OF_MONTH = Field.WEEK_OF_MONTH;
+    public static final TemporalField WEEK_OF_YEAR = Field.WEEK_OF_YEAR;
+    /**
+     * Week of {@link #WEEK_BASED_YEAR}; unlike {@link #WEEK_OF_YEAR}, the last days of Esfand
+     * which share a week with the next Nowruz belong to the first week of the next year.
+     */
+    public static final TemporalField WEEK_OF_WEEK_BASED_YEAR = Field.WEEK_OF_WEEK_BASED_YEAR;
+    public static final TemporalField WEEK_BASED_YEAR = Field.WEEK_BASED_YEAR;
+
+    private IranianWeekFields() {
+    }
+
+    /** Day of week of an epoch day, from Saturday (0) to Friday (6) */
+    static int dayOfWeek0(long epochDay) {
+        return (int) Math.floorMod(epochDay + 5, 7L);
+    }
+
+    /** Epoch day of the Saturday which starts the first week of a week-based year */
+    static long weekBasedYearStart(long year) {
+        long start = IranianChronology.yearStart(year);
+        return start - dayOfWeek0(start);
+    }
+
+    enum Field implements TemporalField {
+        DAY_OF_WEEK("DayOfWeek", ChronoUnit.DAYS, ChronoUnit.WEEKS, ValueRange.of(1, 7)),
+        WEEK_OF_MONTH("WeekOfMonth", ChronoUnit.WEEKS, ChronoUnit.MONTHS, ValueRange.of(1, 5, 6)),
+        WEEK_OF_YEAR("WeekOfYear", ChronoUnit.WEEKS, ChronoUnit.YEARS, ValueRange.of(1, 53, 54)),
+        WEEK_OF_WEEK_BASED_YEAR("WeekOfWeekBasedYear", ChronoUnit.WEEKS, ChronoUnit.YEARS, ValueRange.of(1, 52, 53)),
+        WEEK_BASED_YEAR("WeekBasedYear", ChronoUnit.YEARS, ChronoUnit.FOREVER, YEAR.range());
+
+        private final String name;
+        private final TemporalUnit baseUnit, rangeUnit;
+        private final ValueRange range;
+
+        Field(String name, TemporalUnit baseUnit, TemporalUnit rangeUnit, ValueRange range) {
+            this.name = name;
+            this.baseUnit = baseUnit;
+            this.rangeUnit = rangeUnit;
+            this.range = range;
+        }
+
+        @Override
+        public TemporalUnit getBaseUnit() {
+            return baseUnit;
+        }
+
+        @Override
+        public TemporalUnit getRangeUnit() {
+            return rangeUnit;
+        }
+
+        @Override
+        public ValueRange range() {
+            return range;
+        }
+
+        @Override
+        public boolean isDateBased() {
+            return true;
+        }
+
+        @Override
+        public boolean isTimeBased() {
+            return false;
+        }
+
+        @Override
+        public boolean isSupportedBy(TemporalAccessor temporal) {
+            return temporal.isSupported(EPOCH_DAY);
+        }
+
+        @Override
+        public ValueRange rangeRefinedBy(TemporalAccessor temporal) {
+            var date = toDate(temporal);
+            return switch (this) {
+                case DAY_OF_WEEK, WEEK_BASED_YEAR -> range;
+                case WEEK_OF_MONTH -> {
+                    int start0 = dayOfWeek0(date.toEpochDay() - date.get(DAY_OF_MONTH) + 1);
+                    yield ValueRange.of(1, (date.lengthOfMonth() - 1 + start0) / 7 + 1);
+                }
+                case WEEK_OF_YEAR -> {
+                    int start0 = dayOfWeek0(date.toEpochDay() - date.getDayOfYear() + 1);
+                    yield ValueRange.of(1, (date.lengthOfYear() - 1 + start0) / 7 + 1);
+                }
+                case WEEK_OF_WEEK_BASED_YEAR -> {
+                    long year = getFrom(date, WEEK_BASED_YEAR);
+                    yield ValueRange.of(1, (weekBasedYearStart(year + 1) - weekBasedYearStart(year)) / 7);
+                }
+            };
+        }
+
+        @Override
+        public long getFrom(TemporalAccessor temporal) {
+            return getFrom(toDate(temporal), this);
+        }
+
+        private static IranianDate toDate(TemporalAccessor temporal) {
+            if (temporal instanceof IranianDate date)
+                return date;
+            return IranianChronology.INSTANCE.date(temporal);
+        }
+
+        private static long getFrom(IranianDate date, Field field) {
+            int dow0 = dayOfWeek0(date.toEpochDay());
+            return switch (field) {
+                case DAY_OF_WEEK -> dow0 + 1;
+                case WEEK_OF_MONTH -> weekOf(date.get(DAY_OF_MONTH), dow0);
+                case WEEK_OF_YEAR -> weekOf(date.getDayOfYear(), dow0);
+                case WEEK_OF_WEEK_BASED_YEAR, WEEK_BASED_YEAR -> {
+                    int dayOfYear = date.getDayOfYear();
+                    // whether this week contains the next Nowruz
+                    boolean next = dayOfYear - dow0 + 6 > date.lengthOfYear();
+                    if (field == WEEK_BASED_YEAR)
+                        yield date.get(YEAR) + (next ? 1L : 0L);
+                    yield next ? 1 : weekOf(dayOfYear, dow0);
+                }
+            };
+        }
+
+        /** Week of a day within a period which starts at day 1, given its day of week */
+        private static int weekOf(int dayOfPeriod, int dow0) {
+            int start0 = Math.floorMod(dow0 - (dayOfPeriod - 1), 7);
+            return (dayOfPeriod - 1 + start0) / 7 + 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <R extends Temporal> R adjustInto(R temporal, long newValue) {
+            int value = rangeRefinedBy(temporal).checkValidIntValue(newValue, this);
+            long current = getFrom(temporal);
+            if (value == current)
+                return temporal;
+            return switch (this) {
+                case DAY_OF_WEEK -> (R) temporal.plus(value - current, ChronoUnit.DAYS);
+                case WEEK_OF_MONTH, WEEK_OF_YEAR, WEEK_OF_WEEK_BASED_YEAR ->
+                        (R) temporal.plus(value - current, ChronoUnit.WEEKS);
+                case WEEK_BASED_YEAR -> {
+                    // keep the week, or the last one of a shorter year, and the day of week
+                    long epochDay = temporal.getLong(EPOCH_DAY);
+                    long start = weekBasedYearStart(value);
+                    long weeks = (weekBasedYearStart(value + 1L) - start) / 7;
+                    long week = Math.min(WEEK_OF_WEEK_BASED_YEAR.getFrom(temporal), weeks);
+                    yield (R) temporal.with(EPOCH_DAY, start + (week - 1) * 7 + dayOfWeek0(epochDay));
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
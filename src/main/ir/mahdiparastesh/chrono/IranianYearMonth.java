@@ -0,0 +1,375 @@
+/*
+ * Copyright 2025 Mahdi Parastesh
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the “Software”),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package ir.mahdiparastesh.chrono;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.Period;
+import java.time.chrono.ChronoPeriod;
+import java.time.chrono.Chronology;
+import java.time.temporal.*;
+import java.util.Objects;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * An immutable month of a year in the Iranian calendar, like {@link java.time.YearMonth},
+ * kept as the number of months since the year 0 ({@link ChronoField#PROLEPTIC_MONTH}),
+ * so that it compares and hashes as a single long. The months of the years within the
+ * window of {@link IranianDate.Cache} are shared instances, so it's a cheap key for
+ * grouping dates by their months.
+ */
+@SuppressWarnings("unused")
+public final class IranianYearMonth
+        implements Temporal, TemporalAdjuster, Comparable<IranianYearMonth>, Serializable {
+
+    /** Shared instances for the months of the years within the window of IranianDate.Cache */
+    private static final IranianYearMonth[] CACHE;
+    private static final long CACHE_MIN;
+
+    static {
+        long months = (IranianDate.Cache.maxYear() - (long) IranianDate.Cache.minYear() + 1) * 12;
+        CACHE_MIN = IranianDate.Cache.minYear() * 12L;
+        CACHE = new IranianYearMonth[months > 0 && months <= 1 << 16 ? (int) months : 0];
+        for (int i = 0; i < CACHE.length; i++)
+            CACHE[i] = new IranianYearMonth(CACHE_MIN + i);
+    }
+
+    private final long prolepticMonth;
+
+    private IranianYearMonth(long prolepticMonth) {
+        this.prolepticMonth = prolepticMonth;
+    }
+
+
+    //-------------------------BUILDERS--------------------------------------
+
+    public static IranianYearMonth of(int year, int month) {
+        YEAR.checkValidValue(year);
+        MONTH_OF_YEAR.checkValidValue(month);
+        return ofValid(year * 12L + month - 1);
+    }
+
+    public static IranianYearMonth ofProlepticMonth(long prolepticMonth) {
+        return ofValid(PROLEPTIC_MONTH.checkValidValue(prolepticMonth));
+    }
+
+    /**
+     * The month of an IranianDate, or of a temporal of any other chronology which has an
+     * epoch day.
+     */
+    public static IranianYearMonth from(TemporalAccessor temporal) {
+        if (temporal instanceof IranianYearMonth yearMonth)
+            return yearMonth;
+        IranianDate date = (temporal instanceof IranianDate d) ? d : IranianChronology.INSTANCE.date(temporal);
+        return ofValid(date.getProlepticMonth());
+    }
+
+    private static IranianYearMonth ofValid(long prolepticMonth) {
+        long i = prolepticMonth - CACHE_MIN;
+        if (i >= 0 && i < CACHE.length)
+            return CACHE[(int) i];
+        return new IranianYearMonth(prolepticMonth);
+    }
+
+
+    //-------------------------GETTERS---------------------------------------
+
+    public int getYear() {
+        return (int) Math.floorDiv(prolepticMonth, 12);
+    }
+
+    public int getMonthValue() {
+        return Math.floorMod(prolepticMonth, 12) + 1;
+    }
+
+    public long getProlepticMonth() {
+        return prolepticMonth;
+    }
+
+    public boolean isLeapYear() {
+        return IranianChronology.INSTANCE.isLeapYear(getYear());
+    }
+
+    public int lengthOfMonth() {
+        int month = getMonthValue();
+        if (month <= 6)
+            return 31;
+        else if (month <= 11)
+            return 30;
+        else
+            return isLeapYear() ? 30 : 29;
+    }
+
+    public int lengthOfYear() {
+        return isLeapYear() ? 366 : 365;
+    }
+
+    /** Epoch day of the first day of this month */
+    public long startEpochDay() {
+        return IranianChronology.yearStart(getYear()) + IranianDate.DAYS_BEFORE_MONTH[getMonthValue() - 1];
+    }
+
+    /** Epoch day of the first day of the next month */
+    public long endEpochDay() {
+        return startEpochDay() + lengthOfMonth();
+    }
+
+    public IranianDateRange toRange() {
+        long start = startEpochDay();
+        return IranianDateRange.ofEpochDays(start, start + lengthOfMonth());
+    }
+
+    /**
+     * @throws DateTimeException if the day is out of this month
+     */
+    public IranianDate atDay(int dayOfMonth) {
+        ValueRange.of(1, lengthOfMonth()).checkValidValue(dayOfMonth, DAY_OF_MONTH);
+        return IranianDate.ofValid(getYear(), getMonthValue(), dayOfMonth);
+    }
+
+    public IranianDate atEndOfMonth() {
+        return IranianDate.ofValid(getYear(), getMonthValue(), lengthOfMonth());
+    }
+
+    @Override
+    public boolean isSupported(TemporalField field) {
+        if (field instanceof ChronoField)
+            return field == MONTH_OF_YEAR || field == PROLEPTIC_MONTH || field == YEAR;
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TemporalUnit unit) {
+        if (unit instanceof ChronoUnit)
+            return unit == ChronoUnit.MONTHS || unit == ChronoUnit.YEARS || unit == ChronoUnit.DECADES ||
+                    unit == ChronoUnit.CENTURIES || unit == ChronoUnit.MILLENNIA;
+        return unit != null && unit.isSupportedBy(this);
+    }
+
+    @Override
+    public ValueRange range(TemporalField field) {
+        if (field instanceof ChronoField chronoField) {
+            if (isSupported(field))
+                return IranianChronology.INSTANCE.range(chronoField);
+            throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        Objects.requireNonNull(field, "field");
+        return field.rangeRefinedBy(this);
+    }
+
+    @Override
+    public long getLong(TemporalField field) {
+        if (field instanceof ChronoField) {
+            return switch ((ChronoField) field) {
+                case MONTH_OF_YEAR -> getMonthValue();
+                case PROLEPTIC_MONTH -> prolepticMonth;
+                case YEAR -> getYear();
+                default -> throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            };
+        }
+        return field.getFrom(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R query(TemporalQuery<R> query) {
+        if (query == TemporalQueries.chronology())
+            return (R) IranianChronology.INSTANCE;
+        if (query == TemporalQueries.precision())
+            return (R) ChronoUnit.MONTHS;
+        return Temporal.super.query(query);
+    }
+
+
+    //-------------------------MUTATION--------------------------------------
+
+    @Override
+    public IranianYearMonth with(TemporalAdjuster adjuster) {
+        return (IranianYearMonth) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public IranianYearMonth with(TemporalField field, long newValue) {
+        if (field instanceof ChronoField chronoField) {
+            chronoField.checkValidValue(newValue);
+            return switch (chronoField) {
+                case MONTH_OF_YEAR -> ofValid(getYear() * 12L + newValue - 1);
+                case PROLEPTIC_MONTH -> ofValid(newValue);
+                case YEAR -> ofValid(newValue * 12 + getMonthValue() - 1);
+                default -> throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            };
+        }
+        return field.adjustInto(this, newValue);
+    }
+
+    /**
+     * Adds a {@link Period} or an Iranian {@link ChronoPeriod} which has no days, as months;
+     * any other amount is handed to {@link TemporalAmount#addTo(Temporal)}.
+     */
+    @Override
+    public IranianYearMonth plus(TemporalAmount amount) {
+        if (amount instanceof ChronoPeriod period)
+            return plusMonths(totalMonths(period));
+        return (IranianYearMonth) amount.addTo(this);
+    }
+
+    @Override
+    public IranianYearMonth plus(long amountToAdd, TemporalUnit unit) {
+        if (unit instanceof ChronoUnit chronoUnit) {
+            return switch (chronoUnit) {
+                case MONTHS -> plusMonths(amountToAdd);
+                case YEARS -> plusMonths(Math.multiplyExact(amountToAdd, 12));
+                case DECADES -> plusMonths(Math.multiplyExact(amountToAdd, 120));
+                case CENTURIES -> plusMonths(Math.multiplyExact(amountToAdd, 1200));
+                case MILLENNIA -> plusMonths(Math.multiplyExact(amountToAdd, 12000));
+                default -> throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            };
+        }
+        return unit.addTo(this, amountToAdd);
+    }
+
+    public IranianYearMonth plusMonths(long monthsToAdd) {
+        if (monthsToAdd == 0)
+            return this;
+        return ofProlepticMonth(Math.addExact(prolepticMonth, monthsToAdd));
+    }
+
+    public IranianYearMonth plusYears(long yearsToAdd) {
+        return plusMonths(Math.multiplyExact(yearsToAdd, 12));
+    }
+
+    @Override
+    public IranianYearMonth minus(TemporalAmount amount) {
+        if (amount instanceof ChronoPeriod period)
+            return plusMonths(Math.negateExact(totalMonths(period)));
+        return (IranianYearMonth) amount.subtractFrom(this);
+    }
+
+    @Override
+    public IranianYearMonth minus(long amountToSubtract, TemporalUnit unit) {
+        return (amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit));
+    }
+
+    public IranianYearMonth minusMonths(long monthsToSubtract) {
+        return plusMonths(Math.negateExact(monthsToSubtract));
+    }
+
+    public IranianYearMonth minusYears(long yearsToSubtract) {
+        return plusYears(Math.negateExact(yearsToSubtract));
+    }
+
+    private static long totalMonths(ChronoPeriod period) {
+        if (!(period instanceof Period) && !IranianChronology.INSTANCE.equals(period.getChronology()))
+            throw new DateTimeException("Chronology mismatch, expected: " +
+                    IranianChronology.INSTANCE.getId() + ", actual: " + period.getChronology().getId());
+        if (period.get(ChronoUnit.DAYS) != 0)
+            throw new UnsupportedTemporalTypeException("Unsupported unit: " + ChronoUnit.DAYS);
+        return Math.addExact(Math.multiplyExact(period.get(ChronoUnit.YEARS), 12L), period.get(ChronoUnit.MONTHS));
+    }
+
+    @Override
+    public long until(Temporal endExclusive, TemporalUnit unit) {
+        IranianYearMonth end = from(endExclusive);
+        if (unit instanceof ChronoUnit chronoUnit) {
+            long months = end.prolepticMonth - prolepticMonth;  // no overflow
+            return switch (chronoUnit) {
+                case MONTHS -> months;
+                case YEARS -> months / 12;
+                case DECADES -> months / 120;
+                case CENTURIES -> months / 1200;
+                case MILLENNIA -> months / 12000;
+                default -> throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            };
+        }
+        return unit.between(this, end);
+    }
+
+    /** Sets the month of an Iranian temporal to this one. */
+    @Override
+    public Temporal adjustInto(Temporal temporal) {
+        if (!IranianChronology.INSTANCE.equals(Chronology.from(temporal)))
+            throw new DateTimeException("Adjustment only supported on Iranian date-time");
+        return temporal.with(PROLEPTIC_MONTH, prolepticMonth);
+    }
+
+
+    //-------------------------COMPARISON------------------------------------
+
+    @Override
+    public int compareTo(IranianYearMonth other) {
+        return Long.compare(prolepticMonth, other.prolepticMonth);
+    }
+
+    public boolean isAfter(IranianYearMonth other) {
+        return prolepticMonth > other.prolepticMonth;
+    }
+
+    public boolean isBefore(IranianYearMonth other) {
+        return prolepticMonth < other.prolepticMonth;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof IranianYearMonth other && prolepticMonth == other.prolepticMonth;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(prolepticMonth);
+    }
+
+
+    //-------------------------PRINTING--------------------------------------
+
+    /** In the format of {@link IranianDate#toString()} without the day, e.g. {@code 6404-01} */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(IranianDateFormat.MAX_LENGTH);
+        IranianDateFormat.write(buf, getYear(), getMonthValue(), 1);
+        buf.setLength(buf.length() - 3);
+        return buf.toString();
+    }
+
+
+    //-------------------------SERIALIZATION---------------------------------
+
+    @java.io.Serial
+    private static final long serialVersionUID = 1L;
+
+    @java.io.Serial
+    private void readObject(ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        if (!PROLEPTIC_MONTH.range().isValidValue(prolepticMonth))
+            throw new InvalidObjectException("Invalid proleptic month: " + prolepticMonth);
+    }
+
+    @java.io.Serial
+    private Object readResolve() {
+        return ofValid(prolepticMonth);
+    }
+}
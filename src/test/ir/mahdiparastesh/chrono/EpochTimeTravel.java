@@ -1,6 +1,7 @@
 package ir.mahdiparastesh.chrono;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoField;
 
 /**
  * Calculates epoch days from a given date.
@@ -13,9 +14,6 @@ public class EpochTimeTravel {
     private static final LocalDate irEpochStart =
             LocalDate.of(6348, 10, 11);
 
-    private static final LocalDate thisNowruz =
-            LocalDate.of(2025, 3, 21);
-
     public static void main(String[] args) {
         int destination;
         try {
@@ -23,7 +21,8 @@ public class EpochTimeTravel {
         } catch (Exception ignored) {
             throw new IllegalArgumentException("Please provide one number as the destination.");
         }
-        int year = 6403;  // TO-DO IranianDate.now().get(ChronoField.YEAR)
+        int year = IranianDate.now().get(ChronoField.YEAR);
+        LocalDate nextNowruz = LocalDate.ofEpochDay(IranianDate.of(year + 1, 1, 1).toEpochDay());
 
         if (year <= destination)
             throw new IllegalArgumentException("Destination cannot be later than now.");
@@ -37,6 +36,6 @@ public class EpochTimeTravel {
             year--;
         }
         System.out.println("Finally: " + days + " + 79 = " + (days + 79) + " days");
-        System.out.println("While 2025/3/21 == " + thisNowruz.toEpochDay() + " epoch days");
+        System.out.println("While " + nextNowruz + " == " + nextNowruz.toEpochDay() + " epoch days");
     }
 }
@@ -0,0 +1,150 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.LongUnaryOperator;
+
+import static java.time.temporal.ChronoField.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianBucketsTest {
+
+    /** The first day of the period of an epoch day, through IranianDate */
+    static LongUnaryOperator periodStart(IranianBuckets.Unit unit) {
+        return d -> {
+            IranianDate date = IranianDate.ofEpochDay(d);
+            return switch (unit) {
+                case WEEK -> d - date.get(IranianWeekFields.DAY_OF_WEEK) + 1;
+                case MONTH -> date.withDayOfMonth(1).toEpochDay();
+                case QUARTER -> date.with(IranianTemporalAdjusters.firstDayOfQuarter()).toEpochDay();
+                case YEAR -> date.withDayOfYear(1).toEpochDay();
+            };
+        };
+    }
+
+    static void check(IranianBuckets.Unit unit, long[] epochDays, long[] values, IranianBuckets.OfLong buckets) {
+        LongUnaryOperator start = periodStart(unit);
+        var expected = new TreeMap<Long, long[]>();  // count, sum, min, max
+        for (int i = 0; i < epochDays.length; i++) {
+            long[] e = expected.computeIfAbsent(
+                    start.applyAsLong(epochDays[i]), k -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+            e[0]++;
+            e[1] += values[i];
+            e[2] = Math.min(e[2], values[i]);
+            e[3] = Math.max(e[3], values[i]);
+        }
+        long total = 0;
+        for (int b = 0; b < buckets.size(); b++) {
+            long s = buckets.startEpochDay(b);
+            assertEquals(s, start.applyAsLong(s), unit + " " + b);
+            assertEquals(buckets.endEpochDay(b), b + 1 < buckets.size()
+                    ? buckets.startEpochDay(b + 1) : start.applyAsLong(buckets.endEpochDay(b)));
+            long[] e = expected.getOrDefault(s, new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+            assertArrayEquals(e, new long[]{buckets.count(b), buckets.sum(b), buckets.min(b), buckets.max(b)},
+                    unit + " " + buckets.getStart(b));
+            total += buckets.count(b);
+        }
+        assertEquals(epochDays.length, total);
+        if (epochDays.length > 0) {
+            assertEquals(expected.firstKey(), buckets.startEpochDay(0));
+            assertEquals(expected.lastKey(), buckets.startEpochDay(buckets.size() - 1));
+        }
+    }
+
+    @Test
+    public void epochDays() {
+        var random = new SplittableRandom(6404);
+        for (IranianBuckets.Unit unit : IranianBuckets.Unit.values())
+            for (int n : new int[]{0, 1, 100, 10_000, 300_000}) {
+                long[] epochDays = new long[n], values = new long[n];
+                long origin = random.nextLong(-100_000, 100_000);
+                for (int i = 0; i < n; i++) {
+                    epochDays[i] = origin + random.nextLong(0, 3000);
+                    values[i] = random.nextLong(-1000, 1000);
+                }
+                check(unit, epochDays, values, IranianBuckets.ofEpochDays(unit, epochDays, values));
+                Arrays.sort(epochDays);
+                check(unit, epochDays, values, IranianBuckets.ofEpochDays(unit, epochDays, values));
+
+                double[] doubles = Arrays.stream(values).asDoubleStream().toArray();
+                var longBuckets = IranianBuckets.ofEpochDays(unit, epochDays, values);
+                var doubleBuckets = IranianBuckets.ofEpochDays(unit, epochDays, doubles);
+                assertEquals(longBuckets.size(), doubleBuckets.size());
+                for (int b = 0; b < longBuckets.size(); b++) {
+                    assertEquals(longBuckets.count(b), doubleBuckets.count(b));
+                    assertEquals(longBuckets.sum(b), doubleBuckets.sum(b));
+                    if (longBuckets.count(b) > 0) {
+                        assertEquals(longBuckets.min(b), doubleBuckets.min(b));
+                        assertEquals(longBuckets.max(b), doubleBuckets.max(b));
+                        assertEquals(longBuckets.average(b), doubleBuckets.average(b), 1e-9);
+                    } else {
+                        assertEquals(Double.POSITIVE_INFINITY, doubleBuckets.min(b));
+                        assertEquals(Double.NEGATIVE_INFINITY, doubleBuckets.max(b));
+                    }
+                }
+            }
+    }
+
+    /** Parts of the input which are split apart only cover their own buckets. */
+    @Test
+    public void outliers() {
+        var random = new SplittableRandom(6405);
+        int n = 300_000;
+        for (int outlier : new int[]{0, n / 2, n - 1}) {
+            long[] epochDays = new long[n], values = new long[n];
+            for (int i = 0; i < n; i++) {
+                epochDays[i] = 20_000 + random.nextLong(0, 3000);
+                values[i] = random.nextLong(-1000, 1000);
+            }
+            epochDays[outlier] = outlier == 0 ? -1_000_000 : 1_000_000;
+            for (IranianBuckets.Unit unit : IranianBuckets.Unit.values())
+                check(unit, epochDays, values, IranianBuckets.ofEpochDays(unit, epochDays, values));
+        }
+    }
+
+    @Test
+    public void epochMillis() {
+        var random = new SplittableRandom(6404);
+        ZoneId tehran = ZoneId.of("Asia/Tehran");
+        int n = 200_000;
+        long[] millis = new long[n], values = new long[n], epochDays = new long[n];
+        long origin = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+        for (int i = 0; i < n; i++) {
+            millis[i] = origin + random.nextLong(0, 86_400_000L * 1000);
+            values[i] = random.nextLong(0, 100);
+            epochDays[i] = LocalDate.ofInstant(Instant.ofEpochMilli(millis[i]), tehran).toEpochDay();
+        }
+        var buckets = IranianBuckets.ofEpochMillis(IranianBuckets.Unit.MONTH, tehran, millis, values);
+        check(IranianBuckets.Unit.MONTH, epochDays, values, buckets);
+        assertEquals(IranianYearMonth.from(IranianDate.ofEpochDay(epochDays[0])).startEpochDay(),
+                buckets.startEpochDay(buckets.indexOf(IranianDate.ofEpochDay(epochDays[0]))));
+    }
+
+    @Test
+    public void edges() {
+        var buckets = IranianBuckets.ofEpochDays(IranianBuckets.Unit.YEAR,
+                new long[]{IranianDate.of(6403, 12, 30).toEpochDay(), IranianDate.of(6404, 1, 1).toEpochDay()},
+                new double[]{1.5, 2.5});
+        assertEquals(2, buckets.size());
+        assertEquals(IranianDate.of(6403, 1, 1), buckets.getStart(0));
+        assertEquals(IranianDate.of(6405, 1, 1).toEpochDay(), buckets.endEpochDay(1));
+        assertEquals(2.5, buckets.sum(1));
+        assertEquals(-1, buckets.indexOf(IranianDate.of(6405, 1, 1)));
+        assertEquals(1, buckets.indexOf(LocalDate.of(2025, 12, 1)));
+        assertEquals(0, IranianBuckets.ofEpochDays(IranianBuckets.Unit.WEEK, new long[0], new long[0]).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> IranianBuckets.ofEpochDays(IranianBuckets.Unit.WEEK, new long[1], new long[2]));
+        assertThrows(IndexOutOfBoundsException.class, () -> buckets.startEpochDay(2));
+
+        var weeks = IranianBuckets.ofEpochDays(IranianBuckets.Unit.WEEK,
+                new long[]{IranianDate.of(6404, 1, 16).toEpochDay()}, new long[]{7});  // Saturday
+        assertEquals(IranianDate.of(6404, 1, 16), weeks.getStart(0));
+        assertEquals(1, weeks.count(0));
+    }
+}
@@ -0,0 +1,92 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianBusinessCalendarTest {
+
+    @Test
+    public void load() throws IOException {
+        var calendar = IranianBusinessCalendar.builder().load(new StringReader("""
+                # Nowruz
+                6404-01-01
+                6404-01-02
+                  6404-01-03
+
+                6404-01-04
+                6404-01-12
+                6404-01-13""")).build();
+        assertEquals(Set.of(DayOfWeek.FRIDAY), calendar.getWeekend());
+
+        IranianDate lastWorkingDay = IranianDate.of(6403, 12, 30);  // Thursday
+        assertTrue(calendar.isBusinessDay(lastWorkingDay));
+        assertFalse(calendar.isBusinessDay(IranianDate.of(6404, 1, 8)));  // Friday
+        assertFalse(calendar.isBusinessDay(IranianDate.of(6404, 1, 2)));
+        assertTrue(calendar.isBusinessDay(IranianDate.of(6404, 1, 5)));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2025, 4, 1)));  // 6404-01-12
+        assertEquals(IranianDate.of(6404, 1, 5), calendar.addBusinessDays(lastWorkingDay, 1));
+        assertEquals(lastWorkingDay, calendar.addBusinessDays(IranianDate.of(6404, 1, 5), -1));
+        assertEquals(IranianDate.of(6404, 1, 14), calendar.addBusinessDays(lastWorkingDay, 7));
+        assertEquals(7, calendar.businessDaysBetween(IranianDate.of(6404, 1, 1), IranianDate.of(6404, 1, 16)));
+        assertEquals(-7, calendar.businessDaysBetween(IranianDate.of(6404, 1, 16), IranianDate.of(6404, 1, 1)));
+
+        var e = assertThrows(DateTimeParseException.class, () -> IranianBusinessCalendar.builder()
+                .load(new StringReader("6404-01-01\n6404-1-02\n")));
+        assertTrue(e.getMessage().startsWith("Line 2: "), e.getMessage());
+        assertThrows(IllegalStateException.class,
+                () -> IranianBusinessCalendar.builder().weekend(DayOfWeek.values()).build());
+    }
+
+    @Test
+    public void operations() {
+        var random = new SplittableRandom(6404);
+        for (DayOfWeek[] weekend : new DayOfWeek[][]{
+                {DayOfWeek.FRIDAY}, {DayOfWeek.THURSDAY, DayOfWeek.FRIDAY}, {}, {
+                DayOfWeek.SATURDAY, DayOfWeek.SUNDAY, DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+                DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY}}) {
+            List<IranianDate> holidays = new ArrayList<>();
+            for (int i = 0; i < 300; i++)
+                holidays.add(IranianDate.ofEpochDay(random.nextLong(18000, 22000)));
+            var calendar = IranianBusinessCalendar.builder().weekend(weekend).holidays(holidays).build();
+            var set = new HashSet<>(holidays);
+            var weekendSet = Set.of(weekend);
+
+            for (long epochDay = 17500; epochDay < 22500; epochDay++) {
+                IranianDate date = IranianDate.ofEpochDay(epochDay);
+                assertEquals(!weekendSet.contains(date.getDayOfWeek()) && !set.contains(date),
+                        calendar.isBusinessDay(date), date.toString());
+            }
+            for (int i = 0; i < 300; i++) {
+                IranianDate start = IranianDate.ofEpochDay(random.nextLong(17500, 22500));
+                int days = random.nextInt(-400, 400);
+
+                IranianDate expected = start;
+                for (int n = 0; n < Math.abs(days); ) {
+                    expected = expected.plusDays(Integer.signum(days));
+                    if (calendar.isBusinessDay(expected)) n++;
+                }
+                assertEquals(expected, calendar.addBusinessDays(start, days), start + " + " + days);
+
+                IranianDate end = start.plusDays(days);
+                long count = 0;
+                for (IranianDate d = start; d.isBefore(end); d = d.plusDays(1))
+                    if (calendar.isBusinessDay(d)) count++;
+                for (IranianDate d = end; d.isBefore(start); d = d.plusDays(1))
+                    if (calendar.isBusinessDay(d)) count--;
+                assertEquals(count, calendar.businessDaysBetween(start, end), start + " until " + end);
+            }
+        }
+    }
+}
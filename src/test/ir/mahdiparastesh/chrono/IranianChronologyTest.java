@@ -44,5 +44,35 @@ public class IranianChronologyTest {
         assertFalse(IranianChronology.INSTANCE.isLeapYear(6404));
         assertTrue(IranianChronology.INSTANCE.isLeapYear(6403));
         assertTrue(IranianChronology.INSTANCE.isLeapYear(6391));
+
+        // on the threshold of the 2820-year cycle
+        assertFalse(IranianChronology.INSTANCE.isLeapYear(2655));
+        assertTrue(IranianChronology.INSTANCE.isLeapYear(5475));
+        assertTrue(IranianChronology.INSTANCE.isLeapYear(8295));
+        // before the cycles
+        assertTrue(IranianChronology.INSTANCE.isLeapYear(2653));
+        assertTrue(IranianChronology.INSTANCE.isLeapYear(-999_999_999));
+    }
+
+    @Test
+    public void leapYearsBefore() {
+        long leaps = 0;
+        for (int y = 2654; y <= 12000; y++) {
+            assertEquals(leaps, IranianChronology.leapYearsBefore(y));
+            if (IranianChronology.INSTANCE.isLeapYear(y)) leaps++;
+        }
+        assertEquals(-10, IranianChronology.leapYearsBefore(2644));
+    }
+
+    @Test
+    public void yearStart() {
+        assertEquals(LocalDate.of(1969, 3, 21).toEpochDay(), IranianChronology.yearStart(6348));
+        for (int y = 4900; y <= 8100; y++) {  // across the edges of the default table
+            long start = IranianChronology.yearStart(y);
+            assertEquals(IranianChronology.INSTANCE.isLeapYear(y) ? 366 : 365,
+                    IranianChronology.yearStart(y + 1) - start);
+            assertEquals(y, IranianChronology.yearOfEpochDay(start));
+            assertEquals(y - 1, IranianChronology.yearOfEpochDay(start - 1));
+        }
     }
 }
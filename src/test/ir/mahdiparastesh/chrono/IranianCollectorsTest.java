@@ -0,0 +1,70 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.ChronoField;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianCollectorsTest {
+
+    List<LocalDate> testingDates = LocalDate.of(1995, 1, 1)
+            .datesUntil(LocalDate.of(2030, 1, 1), Period.ofDays(3)).toList();
+
+    @Test
+    public void toIranianDates() {
+        assertEquals(
+                List.of(IranianDate.of(6404, 1, 16), IranianDate.of(6348, 10, 11)),
+                List.of(LocalDate.of(2025, 4, 5), LocalDate.of(1970, 1, 1)).stream()
+                        .collect(IranianCollectors.toIranianDates())
+        );
+    }
+
+    @Test
+    public void groupingByYear() {
+        Map<Integer, Long> expected = testingDates.stream().collect(Collectors.groupingBy(
+                d -> IranianChronology.INSTANCE.date(d).get(ChronoField.YEAR), Collectors.counting()));
+        assertEquals(expected, testingDates.stream()
+                .collect(IranianCollectors.groupingByYear(Collectors.counting())));
+        assertEquals(expected, testingDates.parallelStream()
+                .collect(IranianCollectors.groupingByYear(Collectors.counting())));
+    }
+
+    @Test
+    public void groupingByMonth() {
+        Map<IranianDate, Long> expected = testingDates.stream().collect(Collectors.groupingBy(
+                d -> IranianChronology.INSTANCE.date(d).withDayOfMonth(1), Collectors.counting()));
+        assertEquals(expected, testingDates.stream()
+                .collect(IranianCollectors.groupingByMonth(Collectors.counting())));
+        assertEquals(expected, testingDates.parallelStream()
+                .collect(IranianCollectors.groupingByMonth(Collectors.counting())));
+
+        // epoch days, in no particular order
+        assertEquals(expected, LongStream.concat(
+                        testingDates.stream().mapToLong(LocalDate::toEpochDay).filter(d -> d % 2 == 0),
+                        testingDates.stream().mapToLong(LocalDate::toEpochDay).filter(d -> d % 2 != 0))
+                .boxed().parallel()
+                .collect(IranianCollectors.groupingByMonth(Long::longValue, Collectors.counting())));
+    }
+
+    @Test
+    public void groupingByWeek() {
+        Map<IranianDate, List<LocalDate>> weeks = testingDates.parallelStream()
+                .collect(IranianCollectors.groupingByWeek(Collectors.toList()));
+        assertEquals(testingDates.size(), weeks.values().stream().mapToInt(List::size).sum());
+        weeks.forEach((saturday, dates) -> {
+            assertEquals(DayOfWeek.SATURDAY, saturday.getDayOfWeek());
+            for (LocalDate date : dates) {
+                long days = date.toEpochDay() - saturday.toEpochDay();
+                assertTrue(days >= 0 && days < 7);
+            }
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.DateTimeException;
+
+import static java.time.temporal.ChronoField.DAY_OF_MONTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianDateCodecTest {
+
+    @Test
+    public void packed() {
+        IranianDate[] dates = new IranianDate[1000];
+        int[] packed = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = IranianDate.ofEpochDay(i * 997L - 400_000);
+            packed[i] = dates[i].toPacked();
+        }
+
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            var buf = ByteBuffer.allocate(dates.length * 8 + 3).order(order).position(3);
+            IranianDateCodec.writePacked(buf, dates, 0, dates.length);
+            IranianDateCodec.writePacked(buf, packed, 0, packed.length);
+            assertEquals(dates.length * 8 + 3, buf.position());
+
+            buf.flip().position(3);
+            IranianDate[] readDates = new IranianDate[dates.length];
+            int[] readPacked = new int[packed.length];
+            IranianDateCodec.readPacked(buf, readPacked, 0, readPacked.length);
+            IranianDateCodec.readPacked(buf, readDates, 0, readDates.length);
+            assertArrayEquals(packed, readPacked);
+            assertArrayEquals(dates, readDates);
+
+            buf.position(3);
+            IranianDateCodec.readPackedTrusted(buf, readDates, 0, readDates.length);
+            IranianDateCodec.readPackedTrusted(buf, readPacked, 0, readPacked.length);
+            assertArrayEquals(packed, readPacked);
+            assertArrayEquals(dates, readDates);
+            assertFalse(buf.hasRemaining());
+        }
+
+        var invalid = ByteBuffer.allocate(8).putInt(0, packed[0]).putInt(4, IranianDates.pack0(6404, 13, 1));
+        int[] untouched = new int[2];
+        assertThrows(DateTimeException.class, () -> IranianDateCodec.readPacked(invalid, untouched, 0, 2));
+        assertArrayEquals(new int[2], untouched);
+        assertEquals(0, invalid.position());
+        IranianDate[] untouchedDates = new IranianDate[2];
+        assertThrows(DateTimeException.class,
+                () -> IranianDateCodec.readPacked(invalid, untouchedDates, 0, 2));
+        assertArrayEquals(new IranianDate[2], untouchedDates);
+        assertEquals(0, invalid.position());
+        assertThrows(BufferUnderflowException.class,
+                () -> IranianDateCodec.readPacked(invalid, new int[3], 0, 3));
+
+        // the 31st of a month of 30 days, which must not reach the shared cache as an IranianDate
+        for (int[] fields : new int[][]{{6404, 7, 31}, {6403, 12, 31}, {6404, 12, 30}}) {
+            var beyond = ByteBuffer.allocate(4).putInt(0, IranianDates.pack0(fields[0], fields[1], fields[2]));
+            assertThrows(DateTimeException.class, () -> IranianDateCodec.readPacked(beyond, new int[1], 0, 1));
+            assertThrows(DateTimeException.class,
+                    () -> IranianDateCodec.readPacked(beyond, new IranianDate[1], 0, 1));
+            assertEquals(0, beyond.position());
+            assertThrows(DateTimeException.class,
+                    () -> IranianDateCodec.readPackedTrusted(beyond, new IranianDate[1], 0, 1));
+            long epochDay = IranianDate.of(fields[0], fields[1], 1).toEpochDay() + fields[2] - 1;
+            assertNotEquals(fields[2], IranianDate.ofEpochDay(epochDay).get(DAY_OF_MONTH));
+        }
+    }
+
+    @Test
+    public void deltas() {
+        long[] epochDays = new long[2000];
+        for (int i = 0; i < epochDays.length; i++)
+            epochDays[i] = (i < 1500) ? 20000 + i : (i % 2 == 0 ? -1_000_000_000L : 1_000_000_000L) + i;
+        int[] packed = new int[epochDays.length];
+        IranianDate[] dates = new IranianDate[epochDays.length];
+        IranianDates.fromEpochDays(epochDays, 0, packed, 0, packed.length);
+        for (int i = 0; i < dates.length; i++) dates[i] = IranianDate.ofEpochDay(epochDays[i]);
+
+        var buf = ByteBuffer.allocate(epochDays.length * 30);
+        IranianDateCodec.writeDeltas(buf, epochDays, 0, epochDays.length);
+        int size = buf.position();
+        assertTrue(size < 1500 + 3 + 500 * 5, String.valueOf(size));
+        IranianDateCodec.writeDeltas(buf, packed, 0, packed.length);
+        IranianDateCodec.writeDeltas(buf, dates, 0, dates.length);
+        assertEquals(size * 3, buf.position());
+
+        buf.flip();
+        long[] readEpochDays = new long[epochDays.length];
+        int[] readPacked = new int[packed.length];
+        IranianDate[] readDates = new IranianDate[dates.length];
+        IranianDateCodec.readDeltas(buf, readEpochDays, 0, 1000);
+        IranianDateCodec.readDeltas(buf, readEpochDays, 1000, 1000, readEpochDays[999]);
+        assertEquals(size, buf.position());
+        assertArrayEquals(epochDays, readEpochDays);
+        IranianDateCodec.readDeltas(buf, readPacked, 0, 1501);
+        IranianDateCodec.readDeltas(buf, readPacked, 1501, 499, IranianDates.toEpochDay(readPacked[1500]));
+        IranianDateCodec.readDeltas(buf, readDates, 0, 3);
+        IranianDateCodec.readDeltas(buf, readDates, 3, 1997, readDates[2].toEpochDay());
+        assertArrayEquals(packed, readPacked);
+        assertArrayEquals(dates, readDates);
+        assertFalse(buf.hasRemaining());
+        assertThrows(BufferUnderflowException.class,
+                () -> IranianDateCodec.readDeltas(buf, readEpochDays, 0, 1));
+
+        var malformed = ByteBuffer.wrap(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1});
+        assertThrows(IllegalArgumentException.class,
+                () -> IranianDateCodec.readDeltas(malformed, readEpochDays, 0, 1));
+        var extremes = ByteBuffer.allocate(20);
+        IranianDateCodec.writeDeltas(extremes, new long[]{Long.MIN_VALUE, -1}, 0, 2);
+        IranianDateCodec.readDeltas(extremes.flip(), readEpochDays, 0, 2);
+        assertEquals(Long.MIN_VALUE, readEpochDays[0]);
+        assertEquals(-1, readEpochDays[1]);
+    }
+
+    @Test
+    public void memorySegment() {
+        int[] packed = new int[365];
+        IranianDates.fromEpochDays(new long[]{0}, 0, packed, 0, 1);
+        for (int i = 1; i < packed.length; i++) packed[i] = IranianDates.plusDays(packed[0], i);
+        IranianDate[] dates = new IranianDate[packed.length];
+        for (int i = 0; i < dates.length; i++) dates[i] = IranianDate.ofPacked(packed[i]);
+
+        try (Arena arena = Arena.ofConfined()) {
+            var segment = arena.allocate(4096);
+            long end = IranianDateCodec.writePacked(segment, 8, packed, 0, packed.length);
+            assertEquals(8 + 4 * 365, end);
+            assertEquals(packed[0], segment.asByteBuffer().getInt(8));
+            end = IranianDateCodec.writeDeltas(segment, end, dates, 0, dates.length);
+            assertEquals(8 + 4 * 365 + 365, end);  // 1970-01-01 is the epoch day 0
+
+            IranianDate[] readDates = new IranianDate[dates.length];
+            long at = IranianDateCodec.readPackedTrusted(segment, 8, readDates, 0, readDates.length);
+            assertArrayEquals(dates, readDates);
+            int[] readPacked = new int[packed.length];
+            at = IranianDateCodec.readDeltas(segment, at, readPacked, 0, 100);
+            assertEquals(end, IranianDateCodec.readDeltas(
+                    segment, at, readPacked, 100, 265, IranianDates.toEpochDay(readPacked[99])));
+            assertArrayEquals(packed, readPacked);
+        }
+    }
+}
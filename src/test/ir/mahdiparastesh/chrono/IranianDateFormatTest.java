@@ -0,0 +1,122 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianDateFormatTest {
+
+    IranianDate testingDate = IranianDate.of(6404, 1, 16);
+
+    @Test
+    public void parse() {
+        assertEquals(testingDate, IranianDateFormat.parse("6404-01-16"));
+        assertEquals(IranianDate.of(0, 1, 1), IranianDateFormat.parse("0000-01-01"));
+        assertEquals(IranianDate.of(-1, 12, 30), IranianDateFormat.parse("-0001-12-30"));
+        assertEquals(IranianDate.of(10000, 6, 31), IranianDateFormat.parse("+10000-06-31"));
+        assertEquals(IranianDate.of(-999999999, 1, 1), IranianDateFormat.parse("-999999999-01-01"));
+
+        String line = "INFO 6404-01-16 started";
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(testingDate, IranianDateFormat.parse(line, 5, 15));
+        assertEquals(testingDate, IranianDateFormat.parse(bytes, 5, 15));
+        assertEquals(testingDate, IranianDateFormat.parse(ByteBuffer.wrap(bytes), 5, 15));
+        assertEquals(testingDate, IranianDateFormat.parse(ByteBuffer.allocateDirect(32).put(bytes), 5, 15));
+        assertEquals(testingDate.toPacked(), IranianDateFormat.parsePacked(line, 5, 15));
+        assertEquals(testingDate.toPacked(), IranianDateFormat.parsePacked(bytes, 5, 15));
+        assertEquals(testingDate.toPacked(), IranianDateFormat.parsePacked(ByteBuffer.wrap(bytes), 5, 15));
+        assertEquals(testingDate, IranianDateFormat.parse(ByteBuffer.wrap(bytes).position(20), 5, 15));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> IranianDateFormat.parse(ByteBuffer.wrap(bytes).limit(14), 5, 15));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> IranianDateFormat.parsePacked(ByteBuffer.wrap(bytes).limit(14), 5, 15));
+
+        for (long epochDay = -800_000; epochDay <= 800_000; epochDay += 13) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            assertEquals(date, IranianDateFormat.parse(date.toString()));
+        }
+        for (int year = 1; year <= 999_999_999; year = year * 10 + 9)
+            for (int y : new int[]{-year, -year - 1, 0, year, year + 1}) {
+                String text = IranianDate.of(y, 1, 1).toString();
+                assertEquals(text, IranianDateFormat.parse(text).toString());
+            }
+    }
+
+    @Test
+    public void parseErrors() {
+        assertErrorAt(0, "");
+        assertErrorAt(3, "640-01-16");
+        assertErrorAt(0, "64040-01-16");
+        assertErrorAt(0, "+6404-01-16");
+        assertErrorAt(10, "+1000000000-01-01");
+        assertErrorAt(0, "-0000-01-01");  // printed as 0000-01-01
+        assertErrorAt(1, "+012345-01-01");  // printed as +12345-01-01
+        assertErrorAt(1, "-00001-01-01");  // printed as -0001-01-01
+        assertErrorAt(1, "+00000-01-01");
+        assertErrorAt(4, "6404/01/16");
+        assertErrorAt(5, "6404-1-16");
+        assertErrorAt(8, "6404-01-1");
+        assertErrorAt(10, "6404-01-16Z");
+        assertErrorAt(5, "6404-13-16");
+        assertErrorAt(8, "6404-01-00");
+        assertErrorAt(8, "6404-12-30");  // not a leap year
+        assertErrorAt(8, "6404-07-31");
+        assertErrorAt(8, "6403-12-31");
+        assertErrorAt(10, "+10000-11-31");
+
+        byte[] bytes = "at 6404-01-x6".getBytes(StandardCharsets.US_ASCII);
+        var e = assertThrows(DateTimeParseException.class, () -> IranianDateFormat.parse(bytes, 3, 13));
+        assertEquals("6404-01-x6", e.getParsedString());
+        assertEquals(8, e.getErrorIndex());
+        e = assertThrows(DateTimeParseException.class,
+                () -> IranianDateFormat.parsePacked("+4194304-01-01", 0, 14));
+        assertEquals(0, e.getErrorIndex());
+    }
+
+    private static void assertErrorAt(int index, String text) {
+        var e = assertThrows(DateTimeParseException.class, () -> IranianDateFormat.parse(text));
+        assertEquals(index, e.getErrorIndex(), e.getMessage());
+        assertEquals(text, e.getParsedString());
+        e = assertThrows(DateTimeParseException.class, () -> IranianDateFormat.parsePacked(text, 0, text.length()));
+        assertEquals(index, e.getErrorIndex(), e.getMessage());
+    }
+
+    @Test
+    public void format() {
+        var buf = new StringBuilder("at ");
+        IranianDateFormat.format(testingDate, buf);
+        assertEquals("at 6404-01-16", buf.toString());
+
+        byte[] bytes = new byte[IranianDateFormat.MAX_LENGTH + 2];
+        assertEquals(12, IranianDateFormat.format(testingDate, bytes, 2));
+        assertEquals("6404-01-16", new String(bytes, 2, 10, StandardCharsets.US_ASCII));
+        assertEquals(14, IranianDateFormat.formatPacked(IranianDates.pack(-99999, 7, 2), bytes, 2));
+        assertEquals("-99999-07-02", new String(bytes, 2, 12, StandardCharsets.US_ASCII));
+        assertThrows(IndexOutOfBoundsException.class, () -> IranianDateFormat.format(testingDate, bytes, 9));
+
+        var buffer = ByteBuffer.allocateDirect(11).position(1);
+        IranianDateFormat.format(testingDate, buffer);
+        assertEquals(11, buffer.position());
+        assertEquals(testingDate, IranianDateFormat.parse(buffer, 1, 11));
+        assertThrows(java.nio.BufferOverflowException.class,
+                () -> IranianDateFormat.format(testingDate, buffer.position(2)));
+
+        for (int year : new int[]{-999999999, -10000, -9999, -1, 0, 9, 9999, 10000, 999999999}) {
+            IranianDate date = IranianDate.of(year, 12, 29);
+            buf.setLength(0);
+            IranianDateFormat.format(date, buf);
+            assertEquals(date.toString(), buf.toString());
+            assertEquals(IranianDateFormat.length(year), buf.length());
+            int end = IranianDateFormat.format(date, bytes, 0);
+            assertEquals(date, IranianDateFormat.parse(bytes, 0, end));
+        }
+        assertEquals("-999999999-12-29", IranianDate.of(-999999999, 12, 29).toString());
+        assertEquals("+10000-12-29", IranianDate.of(10000, 12, 29).toString());
+        assertEquals("-0009-12-29", IranianDate.of(-9, 12, 29).toString());
+        assertEquals("0009-12-29", IranianDate.of(9, 12, 29).toString());
+    }
+}
@@ -0,0 +1,125 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianDateRangeTest {
+
+    IranianDateRange farvardin = IranianDateRange.of(IranianDate.of(6404, 1, 1), IranianDate.of(6404, 2, 1));
+
+    @Test
+    public void operations() {
+        assertEquals(31, farvardin.lengthInDays());
+        assertEquals("6404-01-01/6404-02-01", farvardin.toString());
+        assertTrue(farvardin.contains(IranianDate.of(6404, 1, 31)));
+        assertFalse(farvardin.contains(IranianDate.of(6404, 2, 1)));
+        assertTrue(farvardin.contains(LocalDate.of(2025, 3, 21)));
+        assertEquals(31, farvardin.dates().count());
+        assertEquals(IranianDate.of(6404, 1, 31), farvardin.dates().reduce((a, b) -> b).orElseThrow());
+
+        var ordibehesht = IranianDateRange.of(IranianDate.of(6404, 2, 1), IranianDate.of(6404, 3, 1));
+        assertFalse(farvardin.overlaps(ordibehesht));
+        assertThrows(DateTimeException.class, () -> farvardin.intersection(ordibehesht));
+        assertEquals(IranianDateRange.of(IranianDate.of(6404, 1, 1), IranianDate.of(6404, 3, 1)),
+                farvardin.span(ordibehesht));
+
+        var nowruz = IranianDateRange.of(IranianDate.of(6403, 12, 25), IranianDate.of(6404, 1, 14));
+        assertTrue(farvardin.overlaps(nowruz));
+        assertEquals(IranianDateRange.of(IranianDate.of(6404, 1, 1), IranianDate.of(6404, 1, 14)),
+                farvardin.intersection(nowruz));
+        assertTrue(farvardin.contains(farvardin.intersection(nowruz)));
+        assertFalse(farvardin.contains(nowruz));
+
+        var empty = IranianDateRange.of(IranianDate.of(6404, 1, 10), IranianDate.of(6404, 1, 10));
+        assertTrue(empty.isEmpty());
+        assertFalse(farvardin.overlaps(empty));
+        assertFalse(empty.overlaps(farvardin));
+        assertFalse(empty.contains(IranianDate.of(6404, 1, 10)));
+        assertThrows(DateTimeException.class,
+                () -> IranianDateRange.of(IranianDate.of(6404, 1, 2), IranianDate.of(6404, 1, 1)));
+        assertThrows(DateTimeException.class, () -> IranianDateRange.ofEpochDays(0, Long.MAX_VALUE));
+        assertThrows(DateTimeException.class, () -> IranianDateRange.ofEpochDays(Long.MIN_VALUE, 0));
+        long max = IranianDate.EPOCH_DAY_RANGE.getMaximum();
+        var last = IranianDateRange.ofEpochDays(max - 1, max);
+        assertEquals(IranianDate.of(999_999_999, 12, 29), last.getEnd());
+        assertEquals(last.getStart() + "/" + last.getEnd(), last.toString());
+    }
+
+    @Test
+    public void union() {
+        var random = new SplittableRandom(6404);
+        for (int round = 0; round < 200; round++) {
+            List<IranianDateRange> ranges = randomRanges(random, random.nextInt(0, 50), 300);
+            ranges.sort(Comparator.comparingLong(IranianDateRange::startEpochDay));
+            List<IranianDateRange> union = IranianDateRange.union(ranges.stream()).toList();
+
+            for (long day = -10; day < 400; day++) {
+                final long d = day;
+                assertEquals(ranges.stream().anyMatch(r -> r.contains(d)),
+                        union.stream().anyMatch(r -> r.contains(d)), "day " + day);
+            }
+            for (int i = 1; i < union.size(); i++)
+                assertTrue(union.get(i - 1).endEpochDay() < union.get(i).startEpochDay());
+            assertTrue(union.stream().noneMatch(IranianDateRange::isEmpty));
+        }
+        assertThrows(IllegalArgumentException.class, () -> IranianDateRange.union(Stream.of(
+                IranianDateRange.ofEpochDays(5, 6), IranianDateRange.ofEpochDays(1, 2))).toList());
+    }
+
+    @Test
+    public void index() {
+        var random = new SplittableRandom(6404);
+        for (int n : new int[]{0, 1, 2, 3, 7, 64, 65, 1000}) {
+            List<IranianDateRange> ranges = randomRanges(random, n, 2000);
+            var index = new IranianDateRange.Index(ranges);
+            assertEquals(n, index.size());
+
+            for (long day = -5; day < 2100; day += random.nextInt(1, 9)) {
+                List<Integer> expected = new ArrayList<>(), actual = new ArrayList<>();
+                for (int i = 0; i < n; i++)
+                    if (ranges.get(i).contains(day)) expected.add(i);
+                index.forEachCovering(day, actual::add);
+                actual.sort(null);
+                assertEquals(expected, actual, "n = " + n + ", day " + day);
+                assertEquals(!expected.isEmpty(), index.anyCovering(day));
+            }
+            for (IranianDateRange query : randomRanges(random, 300, 2000)) {
+                List<Integer> expected = new ArrayList<>(), actual = new ArrayList<>();
+                for (int i = 0; i < n; i++)
+                    if (ranges.get(i).overlaps(query)) expected.add(i);
+                index.forEachOverlapping(query, actual::add);
+                actual.sort(null);
+                assertEquals(expected, actual, "n = " + n + ", " + query);
+                assertEquals(!expected.isEmpty(), index.anyOverlapping(query));
+
+                List<IranianDateRange> overlapping = index.overlapping(query);
+                assertEquals(expected.size(), overlapping.size());
+                assertTrue(overlapping.stream().allMatch(query::overlaps));
+                for (int i = 1; i < overlapping.size(); i++)
+                    assertTrue(overlapping.get(i - 1).startEpochDay() <= overlapping.get(i).startEpochDay());
+            }
+        }
+        var index = new IranianDateRange.Index(List.of(farvardin));
+        assertEquals(List.of(farvardin), index.covering(LocalDate.of(2025, 4, 1)));
+        assertEquals(List.of(), index.covering(IranianDate.of(6404, 2, 1)));
+    }
+
+    static List<IranianDateRange> randomRanges(SplittableRandom random, int n, int days) {
+        List<IranianDateRange> ranges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            long start = random.nextLong(0, days);
+            long length = random.nextInt(8) == 0 ? 0 : random.nextLong(1, random.nextBoolean() ? 10 : days / 4);
+            ranges.add(IranianDateRange.ofEpochDays(start, start + length));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,159 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianDateTableTest {
+
+    /** Dense keys around today, sparse keys over millennia, and both mixed. */
+    private static long[][] bounds() {
+        return new long[][]{{20_000, 20_400}, {-1_000_000_000L, 1_000_000_000L}, {20_000, 20_050}};
+    }
+
+    @Test
+    public void set() {
+        var random = new SplittableRandom(6404);
+        for (long[] b : bounds()) {
+            var set = new IranianDateSet();
+            Set<Long> expected = new HashSet<>();
+            for (int i = 0; i < 20_000; i++) {
+                long key = i % 97 == 0 ? random.nextLong(-300_000_000L, 300_000_000L) : random.nextLong(b[0], b[1]);
+                if (random.nextInt(3) == 0)
+                    assertEquals(expected.remove(key), set.remove(key), "remove " + key);
+                else
+                    assertEquals(expected.add(key), set.add(key), "add " + key);
+                assertEquals(expected.size(), set.size());
+                long probe = random.nextLong(b[0], b[1]);
+                assertEquals(expected.contains(probe), set.contains(probe));
+            }
+            long[] days = expected.stream().mapToLong(Long::longValue).sorted().toArray();
+            assertArrayEquals(days, set.toEpochDays());
+            List<Long> iterated = new ArrayList<>();
+            set.forEachEpochDay(iterated::add);
+            assertEquals(expected, new HashSet<>(iterated));
+            set.clear();
+            assertTrue(set.isEmpty());
+            assertFalse(set.contains(days[0]));
+        }
+
+        var set = new IranianDateSet(4);
+        for (long epochDay = 20_000; epochDay < 20_100; epochDay++)
+            set.add(IranianDate.ofEpochDay(epochDay));
+        assertTrue(set.contains(LocalDate.ofEpochDay(20_050)));
+        List<IranianDate> dates = new ArrayList<>();
+        set.forEach(dates::add);
+        assertEquals(100, dates.size());
+        for (int i = 1; i < dates.size(); i++)  // a dense range is chronological
+            assertTrue(dates.get(i - 1).isBefore(dates.get(i)));
+    }
+
+    @Test
+    public void longMap() {
+        var random = new SplittableRandom(6403);
+        for (long[] b : bounds()) {
+            var map = new IranianDateLongMap();
+            Map<Long, Long> expected = new HashMap<>();
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextLong(b[0], b[1]);
+                long value = random.nextLong(-1000, 1000);
+                switch (random.nextInt(4)) {
+                    case 0 -> assertEquals(expected.remove(key) != null, map.remove(key));
+                    case 1 -> assertEquals(nullToZero(expected.put(key, value)), map.put(key, value),
+                            "put " + key);
+                    default -> assertEquals(expected.merge(key, value, Long::sum).longValue(),
+                            map.addTo(key, value), "addTo " + key);
+                }
+                assertEquals(expected.size(), map.size());
+                long probe = random.nextLong(b[0], b[1]);
+                assertEquals(expected.containsKey(probe), map.containsKey(probe));
+                assertEquals(expected.getOrDefault(probe, -1L).longValue(), map.getOrDefault(probe, -1));
+            }
+            Map<Long, Long> iterated = new HashMap<>();
+            map.forEachEpochDay(iterated::put);
+            assertEquals(expected, iterated);
+        }
+
+        var counts = new IranianDateLongMap();
+        counts.addTo(IranianDate.of(6404, 1, 1), 2);
+        counts.addTo(LocalDate.of(2025, 3, 21), 3);
+        assertEquals(5, counts.getOrDefault(IranianDate.of(6404, 1, 1), 0));
+        counts.forEach((date, count) -> assertEquals("6404-01-01=5", date + "=" + count));
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0;
+    }
+
+    @Test
+    public void map() {
+        var random = new SplittableRandom(6402);
+        for (long[] b : bounds()) {
+            var map = new IranianDateMap<String>();
+            Map<Long, String> expected = new HashMap<>();
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextLong(b[0], b[1]);
+                String value = Long.toString(random.nextLong(1000));
+                switch (random.nextInt(4)) {
+                    case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                    case 1 -> assertEquals(expected.computeIfAbsent(key, k -> value),
+                            map.computeIfAbsent(key, d -> value));
+                    default -> assertEquals(expected.put(key, value), map.put(key, value));
+                }
+                assertEquals(expected.size(), map.size());
+                long probe = random.nextLong(b[0], b[1]);
+                assertEquals(expected.get(probe), map.get(probe));
+            }
+            Map<Long, String> iterated = new HashMap<>();
+            map.forEach((date, value) -> iterated.put(date.toEpochDay(), value));
+            assertEquals(expected, iterated);
+            assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(),
+                    map.toEpochDays());
+        }
+
+        var map = new IranianDateMap<String>();
+        assertNull(map.computeIfAbsent(20_000, d -> null));
+        assertTrue(map.isEmpty());
+        assertEquals("6404-01-01", map.computeIfAbsent(LocalDate.of(2025, 3, 21), IranianDate::toString));
+        assertEquals("6404-01-01", map.get(IranianDate.of(6404, 1, 1)));
+        assertEquals("none", map.getOrDefault(IranianDate.of(6404, 1, 2), "none"));
+        assertThrows(NullPointerException.class, () -> map.put(IranianDate.of(6404, 1, 2), null));
+        assertEquals(1, map.size());
+        assertFalse(Arrays.stream(map.toEpochDays()).anyMatch(d -> d == Long.MIN_VALUE));
+    }
+
+    @Test
+    public void invalidKeys() {
+        var set = new IranianDateSet();
+        var longMap = new IranianDateLongMap();
+        var map = new IranianDateMap<String>();
+        set.add(20_000);
+        longMap.put(20_000, 1);
+        map.put(20_000, "a");
+        for (long key : new long[]{Long.MAX_VALUE, Long.MIN_VALUE, IranianDate.EPOCH_DAY_RANGE.getMaximum() + 1}) {
+            assertThrows(DateTimeException.class, () -> set.add(key));
+            assertThrows(DateTimeException.class, () -> longMap.addTo(key, 1));
+            assertThrows(DateTimeException.class, () -> map.put(key, "b"));
+            assertFalse(set.contains(key));
+            assertEquals(-1, longMap.getOrDefault(key, -1));
+            assertNull(map.remove(key));
+        }
+        for (long key : new long[]{IranianDate.EPOCH_DAY_RANGE.getMinimum(), IranianDate.EPOCH_DAY_RANGE.getMaximum()}) {
+            assertTrue(set.add(key));
+            set.forEach(date -> assertTrue(set.contains(date)));
+        }
+        assertArrayEquals(new long[]{IranianDate.EPOCH_DAY_RANGE.getMinimum(), 20_000,
+                IranianDate.EPOCH_DAY_RANGE.getMaximum()}, set.toEpochDays());
+    }
+}
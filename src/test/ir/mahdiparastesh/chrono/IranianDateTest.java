@@ -2,14 +2,31 @@ package ir.mahdiparastesh.chrono;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Clock;
 import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.chrono.ChronoPeriod;
+import java.time.chrono.HijrahChronology;
+import java.time.chrono.HijrahDate;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import static java.time.temporal.ChronoField.*;
 import static java.time.temporal.ChronoUnit.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class IranianDateTest {
 
@@ -23,12 +40,20 @@ public class IranianDateTest {
         assertThrows(DateTimeException.class, () -> IranianDate.of(6404, 0, 1));
         assertThrows(DateTimeException.class, () -> IranianDate.of(6404, 1, 0));
         assertThrows(DateTimeException.class, () -> IranianDate.of(6404, 12, 30));
+        assertThrows(DateTimeException.class, () -> IranianDate.of(6404, 7, 31));
+        assertThrows(DateTimeException.class, () -> IranianDate.of(6403, 12, 31));
+        assertThrows(DateTimeException.class, () -> IranianDate.ofPacked(IranianDates.pack0(6404, 7, 31)));
 
         // ofYearDay
         assertEquals(
                 IranianDate.of(6404, 12, 29),
                 IranianDate.ofYearDay(6404, 365)
         );
+        assertEquals(IranianDate.of(6403, 6, 31), IranianDate.ofYearDay(6403, 186));
+        assertEquals(IranianDate.of(6403, 7, 1), IranianDate.ofYearDay(6403, 187));
+        assertEquals(IranianDate.of(6403, 12, 30), IranianDate.ofYearDay(6403, 366));
+        for (int doy = 1; doy <= 366; doy++)
+            assertEquals(doy, IranianDate.ofYearDay(6403, doy).getDayOfYear());
 
         // ofEpochDay
         assertEquals(
@@ -75,10 +100,75 @@ public class IranianDateTest {
                 IranianDate.of(6347, 12, 29),
                 IranianDate.ofEpochDay(LocalDate.of(1969, 3, 20).toEpochDay())
         );
+        assertEquals(
+                IranianDate.of(6346, 12, 30),
+                IranianDate.ofEpochDay(LocalDate.of(1968, 3, 20).toEpochDay())
+        );
         assertEquals(  // Sigmund Freud's birthday
                 IranianDate.of(6235, 2, 16),
                 IranianDate.ofEpochDay(LocalDate.of(1856, 5, 6).toEpochDay())
         );
+        assertEquals(
+                IranianDate.ofYearDay(-999_999_999, 1),
+                IranianDate.ofEpochDay(IranianDate.ofYearDay(-999_999_999, 1).toEpochDay())
+        );
+        assertThrows(DateTimeException.class, () -> IranianDate.ofEpochDay(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void ofInstant() {
+        ZoneId tehran = ZoneId.of("Asia/Tehran");
+        Instant nowruz = Instant.parse("2025-03-20T20:30:00Z");
+        assertEquals(IranianDate.of(6404, 1, 1), IranianDate.ofInstant(nowruz, tehran));
+        assertEquals(IranianDate.of(6403, 12, 30), IranianDate.ofInstant(nowruz, ZoneOffset.UTC));
+        assertEquals(IranianDate.of(6403, 12, 30), IranianDate.ofEpochMilli(nowruz.toEpochMilli() - 1, tehran));
+        assertEquals(IranianDate.of(6348, 10, 10), IranianDate.ofEpochMilli(-1, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void now() {
+        ZoneId tehran = ZoneId.of("Asia/Tehran");
+        Instant nowruz = Instant.parse("2025-03-20T20:30:00Z");
+        for (Instant instant : new Instant[]{
+                nowruz, nowruz.minusMillis(1), nowruz, nowruz.plusSeconds(86399), nowruz.plusSeconds(86400),
+                nowruz.minusSeconds(86400 * 365L), Instant.parse("2008-03-20T20:29:59.999Z")})
+            for (ZoneId zone : new ZoneId[]{tehran, ZoneOffset.UTC, ZoneId.of("America/Sao_Paulo")}) {
+                Clock clock = Clock.fixed(instant, zone);
+                assertEquals(LocalDate.now(clock).toEpochDay(), IranianDate.now(clock).toEpochDay(), instant + " " + zone);
+                assertSame(IranianDate.now(clock), IranianChronology.INSTANCE.dateNow(clock));
+            }
+        assertEquals(IranianDate.of(6404, 1, 1), IranianDate.now(Clock.fixed(nowruz, tehran)));
+
+        // Sao Paulo skipped its midnight on 2018-11-04.
+        ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+        Instant day = LocalDate.of(2018, 11, 4).atStartOfDay(saoPaulo).toInstant();
+        assertEquals(IranianDate.ofEpochMilli(day.toEpochMilli() - 1, saoPaulo),
+                IranianDate.now(Clock.fixed(day.minusMillis(1), saoPaulo)));
+        assertEquals(IranianDate.ofInstant(day, saoPaulo), IranianDate.now(Clock.fixed(day, saoPaulo)));
+
+        assertEquals(LocalDate.now().toEpochDay(), IranianDate.now().toEpochDay(), 1);
+        assertEquals(LocalDate.now(tehran).toEpochDay(), IranianChronology.INSTANCE.dateNow(tehran).toEpochDay(), 1);
+    }
+
+    @Test
+    public void cache() {
+        assumeTrue(IranianDate.Cache.isEnabled());
+        int year = IranianDate.Cache.maxYear();
+        IranianDate date = IranianDate.of(year, 1, 16);
+        assertSame(date, IranianDate.of(year, 1, 16));
+        assertSame(date, IranianDate.ofEpochDay(date.toEpochDay()));
+        assertSame(date, IranianChronology.INSTANCE.date(LocalDate.ofEpochDay(date.toEpochDay())));
+        assertNotSame(date, date.clone());
+        assertThrows(DateTimeException.class, () -> IranianDate.of(6404, 12, 30));
+
+        // an invalid day must not take the slot of the valid date which has the same epoch day
+        for (int month = 7; month <= 12; month++) {
+            int m = month;
+            assertThrows(DateTimeException.class, () -> IranianDate.of(year, m, 31));
+            long epochDay = IranianDate.of(year, m, 1).toEpochDay() + 30;
+            assertEquals(epochDay, IranianDate.ofEpochDay(epochDay).toEpochDay());
+            assertNotEquals(31, IranianDate.ofEpochDay(epochDay).get(DAY_OF_MONTH));
+        }
     }
 
 
@@ -202,6 +292,27 @@ public class IranianDateTest {
     // --- END GETTERS ---
 
 
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        IranianDate computed = IranianDate.ofEpochDay(greTestingDate.toEpochDay());
+        computed.getDayOfWeek();  // fills the epoch day cache
+        byte[] bytes = serialize(computed);
+        assertArrayEquals(serialize(IranianDate.of(6404, 1, 16)), bytes);
+
+        Object restored = new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject();
+        assertEquals(testingDate, restored);
+        assertEquals(testingDate.hashCode(), restored.hashCode());
+        assertEquals(greTestingDate.toEpochDay(), ((IranianDate) restored).toEpochDay());
+    }
+
+    private static byte[] serialize(Object obj) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obj);
+        }
+        return bytes.toByteArray();
+    }
+
     @Test
     public void comparison() {
         assertTrue(IranianDate.of(6404, 12, 29).isAfter(testingDate));
@@ -234,5 +345,73 @@ public class IranianDateTest {
                 greTestingDate.until(LocalDate.now(), MONTHS),
                 testingDate.until(IranianChronology.INSTANCE.dateNow(), MONTHS)
         );
+
+        // arguments of other chronologies are converted before reading their fields
+        var random = new SplittableRandom(6404);
+        for (int i = 0; i < 10_000; i++) {
+            IranianDate start = IranianDate.ofEpochDay(random.nextLong(-20_000, 40_000));
+            IranianDate end = IranianDate.ofEpochDay(random.nextLong(-20_000, 40_000));
+            ChronoPeriod expected = start.until(end);
+            assertEquals(expected, start.until(LocalDate.ofEpochDay(end.toEpochDay())));
+            assertEquals(expected, start.until(HijrahDate.from(end)));
+            for (ChronoUnit unit : new ChronoUnit[]{DAYS, WEEKS, MONTHS, YEARS, DECADES})
+                assertEquals(start.until(end, unit), start.until(LocalDate.from(end), unit));
+        }
+        assertEquals(14, testingDate.until(LocalDate.of(2026, 6, 20), MONTHS));
+    }
+
+    @Test
+    public void datesUntil() {
+        IranianDate end = IranianDate.of(6410, 6, 1);
+        List<IranianDate> dates = testingDate.datesUntil(end).toList();
+        assertEquals(testingDate.daysUntil(end), dates.size());
+        for (int i = 0; i < dates.size(); i++)
+            assertEquals(testingDate.plusDays(i), dates.get(i));
+        assertEquals(dates, testingDate.datesUntil(end).parallel().toList());
+        assertEquals(
+                greTestingDate.datesUntil(LocalDate.ofEpochDay(end.toEpochDay())).filter(d -> d.getDayOfMonth() == 1).count(),
+                testingDate.datesUntil(end).parallel()
+                        .filter(d -> LocalDate.ofEpochDay(d.toEpochDay()).getDayOfMonth() == 1).count()
+        );
+        assertEquals(0, testingDate.datesUntil(testingDate).count());
+        assertThrows(IllegalArgumentException.class, () -> testingDate.datesUntil(testingDate.minusDays(1)));
+
+        // beyond the years of the packed dates, at the bounds of YEAR
+        IranianDate max = IranianDate.of(999_999_999, 12, 29);
+        assertEquals(List.of(max.minusDays(2), max.minusDays(1)), max.minusDays(2).datesUntil(max).toList());
+        IranianDate min = IranianDate.of(-999_999_999, 1, 1);
+        assertEquals(List.of(min, min.plusDays(1), min.plusDays(2)), min.datesUntil(min.plusDays(3)).toList());
+        IranianDate lastYears = IranianDate.of(999_999_998, 12, 1);
+        assertEquals(lastYears.daysUntil(max), lastYears.datesUntil(max).parallel().count());
+        assertEquals(max.minusDays(1), lastYears.datesUntil(max).reduce((a, b) -> b).orElseThrow());
+        IranianDate edge = IranianDate.ofPacked(IranianDates.pack((1 << 22) - 1, 12, 29));
+        assertEquals(List.of(edge, edge.plusDays(1)), edge.datesUntil(edge.plusDays(2)).toList());
+        assertEquals(3, IranianDateRange.of(max.minusDays(3), max).dates().count());
+    }
+
+    @Test
+    public void plusAmount() {
+        var random = new SplittableRandom(6404);
+        for (int i = 0; i < 10_000; i++) {
+            IranianDate date = IranianDate.ofEpochDay(random.nextLong(-100_000, 100_000));
+            int years = random.nextInt(-30, 30), months = random.nextInt(-30, 30), days = random.nextInt(-400, 400);
+            ChronoPeriod period = IranianChronology.INSTANCE.period(years, months, days);
+            IranianDate expected = (IranianDate) period.addTo(date);
+
+            assertEquals(expected, date.plus(period));
+            assertEquals(expected, date.plus(Period.of(years, months, days)));
+            assertEquals(period.subtractFrom(date), date.minus(period));
+            assertEquals(period.subtractFrom(date), date.minus(Period.of(years, months, days)));
+            assertEquals(date.plusDays(days), date.plus(Duration.ofDays(days)));
+            assertEquals(date.minusDays(days), date.minus(Duration.ofDays(days)));
+        }
+        // years and months are added at once, so that the day isn't clipped twice.
+        assertEquals(IranianDate.of(6405, 1, 30), IranianDate.of(6403, 12, 30).plus(Period.of(1, 1, 0)));
+        assertEquals(IranianDate.of(6404, 1, 31), IranianDate.of(6403, 12, 30).plus(Period.of(0, 1, 1)));
+        assertSame(testingDate, testingDate.plus(Period.ZERO));
+
+        assertThrows(DateTimeException.class, () -> testingDate.plus(HijrahChronology.INSTANCE.period(1, 0, 0)));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> testingDate.plus(Duration.ofHours(1)));
+        assertThrows(DateTimeException.class, () -> IranianDate.of(999999999, 1, 1).plus(Period.ofYears(1)));
     }
 }
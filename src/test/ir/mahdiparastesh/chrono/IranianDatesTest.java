@@ -0,0 +1,94 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianDatesTest {
+
+    int testingDate = IranianDates.pack(6404, 1, 16);
+
+    @Test
+    public void pack() {
+        assertEquals(6404, IranianDates.year(testingDate));
+        assertEquals(1, IranianDates.month(testingDate));
+        assertEquals(16, IranianDates.day(testingDate));
+        assertEquals(-4000, IranianDates.year(IranianDates.pack(-4000, 12, 30)));
+        assertEquals(testingDate, IranianDate.of(6404, 1, 16).toPacked());
+        assertEquals(IranianDate.of(6404, 1, 16), IranianDate.ofPacked(testingDate));
+
+        assertThrows(DateTimeException.class, () -> IranianDates.pack(6404, 12, 30));
+        assertThrows(DateTimeException.class, () -> IranianDates.pack(6404, 7, 31));
+        assertThrows(DateTimeException.class, () -> IranianDates.pack(6403, 12, 31));
+        assertThrows(DateTimeException.class, () -> IranianDates.pack(6404, 13, 1));
+        assertThrows(DateTimeException.class, () -> IranianDates.pack(1 << 22, 1, 1));
+    }
+
+    @Test
+    public void epochDay() {
+        assertEquals(LocalDate.of(2025, 4, 5).toEpochDay(), IranianDates.toEpochDay(testingDate));
+        for (long epochDay = -800_000; epochDay <= 800_000; epochDay += 7) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            int packed = IranianDates.fromEpochDay(epochDay);
+            assertEquals(date.toPacked(), packed);
+            assertEquals(epochDay, IranianDates.toEpochDay(packed));
+            assertEquals(date.getDayOfWeek(), IranianDates.dayOfWeek(packed));
+            assertEquals(date.isLeapYear(), IranianDates.isLeapYear(packed));
+        }
+    }
+
+    @Test
+    public void bulk() {
+        long[] epochDays = new long[2000];
+        int[] intEpochDays = new int[epochDays.length];
+        for (int i = 0; i < epochDays.length; i++) {
+            // sorted at first, then jumping back and forth
+            epochDays[i] = (i < 1000) ? 20000 + i * 3L : (i % 2 == 0 ? -600_000 + i * 97L : 900_000 - i * 89L);
+            intEpochDays[i] = (int) epochDays[i];
+        }
+        int[] packed = new int[epochDays.length + 2], packedFromInts = new int[epochDays.length];
+        IranianDates.fromEpochDays(epochDays, 0, packed, 2, epochDays.length);
+        IranianDates.fromEpochDays(intEpochDays, 0, packedFromInts, 0, epochDays.length);
+        int[] years = new int[epochDays.length], months = new int[epochDays.length], days = new int[epochDays.length];
+        IranianDates.fromEpochDays(epochDays, 0, years, months, days, 0, epochDays.length);
+        for (int i = 0; i < epochDays.length; i++) {
+            IranianDate date = IranianDate.ofEpochDay(epochDays[i]);
+            assertEquals(date.toPacked(), packed[i + 2]);
+            assertEquals(date.toPacked(), packedFromInts[i]);
+            assertEquals(date, IranianDate.of(years[i], months[i], days[i]));
+        }
+
+        long[] back = new long[epochDays.length];
+        IranianDates.toEpochDays(packed, 2, back, 0, epochDays.length);
+        assertArrayEquals(epochDays, back);
+        IranianDates.toEpochDays(years, months, days, 0, back, 0, epochDays.length);
+        assertArrayEquals(epochDays, back);
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> IranianDates.fromEpochDays(epochDays, 1, packed, 0, epochDays.length));
+        assertThrows(DateTimeException.class,
+                () -> IranianDates.fromEpochDays(new long[]{0, Long.MAX_VALUE}, 0, packed, 0, 2));
+    }
+
+    @Test
+    public void comparison() {
+        assertTrue(IranianDates.compare(IranianDates.pack(6403, 12, 30), testingDate) < 0);
+        assertTrue(IranianDates.compare(IranianDates.pack(-1, 12, 29), IranianDates.pack(0, 1, 1)) < 0);
+        assertEquals(0, IranianDates.compare(IranianDate.of(6404, 1, 16).toPacked(), testingDate));
+    }
+
+    @Test
+    public void plus() {
+        assertEquals(IranianDates.pack(6404, 1, 18), IranianDates.plusDays(testingDate, 2));
+        assertEquals(IranianDates.pack(6403, 12, 30), IranianDates.plusDays(testingDate, -16));
+        for (int months = -30; months <= 30; months++)
+            for (int day : new int[]{1, 29, 30, 31}) {
+                IranianDate date = IranianDate.of(6403, 6, day);
+                assertEquals(date.plusMonths(months).toPacked(),
+                        IranianDates.plusMonths(date.toPacked(), months));
+            }
+    }
+}
@@ -0,0 +1,114 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianInstantConverterTest {
+
+    ZoneId[] zones = {
+            ZoneId.of("Asia/Tehran"), ZoneId.of("America/New_York"), ZoneId.of("Australia/Lord_Howe"),
+            ZoneOffset.UTC, ZoneOffset.ofHoursMinutes(-9, -30)};
+
+    static long expected(long epochMilli, ZoneId zone) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMilli), zone).toEpochDay();
+    }
+
+    @Test
+    public void random() {
+        var random = new SplittableRandom(6404);
+        long min = Instant.parse("1900-01-01T00:00:00Z").toEpochMilli();
+        long max = Instant.parse("2100-01-01T00:00:00Z").toEpochMilli();
+        for (ZoneId zone : zones) {
+            var converter = new IranianInstantConverter(zone);
+            for (int i = 0; i < 100_000; i++) {
+                long millis = random.nextLong(min, max);
+                assertEquals(expected(millis, zone), converter.epochDay(millis), zone + " " + millis);
+            }
+        }
+    }
+
+    @Test
+    public void sorted() {
+        var random = new SplittableRandom(6404);
+        for (ZoneId zone : zones) {
+            var converter = new IranianInstantConverter(zone);
+            long millis = Instant.parse("1975-01-01T00:00:00Z").toEpochMilli();
+            long end = Instant.parse("2030-01-01T00:00:00Z").toEpochMilli();
+            while (millis < end) {
+                long epochDay = expected(millis, zone);
+                IranianDate date = converter.date(millis);
+                assertEquals(epochDay, date.toEpochDay(), zone + " " + millis);
+                assertEquals(IranianDates.fromEpochDay(epochDay), converter.packed(millis));
+                assertEquals(IranianDate.ofEpochMilli(millis, zone), date);
+                millis += random.nextLong(1, 4 * 3_600_000L);
+            }
+        }
+    }
+
+    @Test
+    public void transitions() {
+        for (ZoneId zone : zones) {
+            var converter = new IranianInstantConverter(zone);
+            Instant instant = Instant.parse("1970-01-01T00:00:00Z");
+            ZoneOffsetTransition transition;
+            while ((transition = zone.getRules().nextTransition(instant)) != null &&
+                    transition.getInstant().isBefore(Instant.parse("2040-01-01T00:00:00Z"))) {
+                instant = transition.getInstant();
+                long millis = instant.toEpochMilli();
+                for (long m : new long[]{millis - 1, millis, millis + 1, millis - 1, millis - 3_600_001L})
+                    assertEquals(expected(m, zone), converter.epochDay(m), zone + " " + Instant.ofEpochMilli(m));
+            }
+        }
+    }
+
+    @Test
+    public void bulk() {
+        var random = new SplittableRandom(6404);
+        ZoneId zone = ZoneId.of("Asia/Tehran");
+        long[] millis = new long[10_000];
+        millis[0] = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+        for (int i = 1; i < millis.length; i++)
+            millis[i] = millis[i - 1] + random.nextLong(0, 2 * 3_600_000L);
+
+        var converter = new IranianInstantConverter(zone);
+        var dates = new IranianDate[millis.length + 1];
+        var packed = new int[millis.length];
+        var epochDays = new long[millis.length];
+        converter.fromEpochMillis(millis, 0, dates, 1, millis.length);
+        converter.fromEpochMillis(millis, 0, packed, 0, millis.length);
+        converter.fromEpochMillis(millis, 0, epochDays, 0, millis.length);
+        assertNull(dates[0]);
+        for (int i = 0; i < millis.length; i++) {
+            assertEquals(expected(millis[i], zone), epochDays[i]);
+            assertEquals(epochDays[i], dates[i + 1].toEpochDay());
+            assertEquals(IranianDates.fromEpochDay(epochDays[i]), packed[i]);
+            if (i > 0 && epochDays[i] == epochDays[i - 1])
+                assertSame(dates[i], dates[i + 1]);
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> converter.fromEpochMillis(millis, 1, packed, 0, millis.length));
+        assertArrayEquals(Arrays.copyOf(epochDays, 3), new long[]{
+                converter.epochDay(millis[0]), converter.epochDay(millis[1]), converter.epochDay(millis[2])});
+    }
+
+    @Test
+    public void limits() {
+        var converter = new IranianInstantConverter(ZoneId.of("Asia/Tehran"));
+        assertThrows(DateTimeException.class, () -> converter.date(Long.MAX_VALUE));
+        assertThrows(DateTimeException.class, () -> converter.packed(Long.MIN_VALUE));
+        long millis = Instant.parse("2025-03-20T20:30:00Z").toEpochMilli();  // Nowruz in Tehran
+        assertEquals(IranianDate.of(6404, 1, 1), converter.date(millis));
+        assertEquals(IranianDate.of(6403, 12, 30), converter.date(millis - 1));
+        assertEquals(IranianDate.of(6404, 1, 1), converter.date(Instant.ofEpochMilli(millis)));
+    }
+}
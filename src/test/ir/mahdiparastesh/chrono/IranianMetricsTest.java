@@ -0,0 +1,121 @@
+package ir.mahdiparastesh.chrono;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianMetricsTest {
+
+    @Test
+    public void disabled() {
+        assertFalse(IranianMetrics.ENABLED);
+        IranianDate.ofEpochDay(-100_000_000L).toEpochDay();
+        assertThrows(DateTimeException.class, () -> IranianDate.of(6404, 13, 1));
+        assertEquals(0, IranianMetrics.fromEpochDayCount());
+        assertEquals(0, IranianMetrics.slowFromEpochDayCount());
+        assertEquals(0, IranianMetrics.invalidDateCount());
+        assertThrows(IllegalStateException.class, IranianMetrics::registerMBean);
+    }
+
+    /** Runs {@link #main(String[])} in a JVM where the metrics are enabled. */
+    @Test
+    public void enabled() throws Exception {
+        String classPath = location(IranianDate.class) + File.pathSeparator + location(IranianMetricsTest.class);
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java")));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(List.of("-Dir.mahdiparastesh.chrono.metrics=true", "-cp", classPath,
+                IranianMetricsTest.class.getName()));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Map<String, Long> results = new HashMap<>();
+        List<String> output = new ArrayList<>();
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            reader.lines().forEach(line -> {
+                output.add(line);
+                String[] kv = line.split("=");
+                if (kv.length == 2 && kv[1].matches("-?\\d+")) results.put(kv[0], Long.parseLong(kv[1]));
+            });
+        }
+        assertEquals(0, process.waitFor(), String.join("\n", output));
+
+        // the chronology also converts through ofEpochDay, and creating a date computes its year start
+        assertEquals(5, results.get("FromEpochDayCount"));
+        assertEquals(1, results.get("SlowFromEpochDayCount"));
+        assertTrue(results.get("SearchIterationCount") >= 1);
+        assertEquals(2, results.get("SlowToEpochDayCount"));
+        assertEquals(2, results.get("ChronologyDateCount"));
+        assertTrue(results.get("ChronologyDateNanos") > 0);
+        assertEquals(3, results.get("InvalidDateCount"));
+        assertEquals(3, results.get("CacheHitCount"));
+        for (String key : IranianMetrics.snapshot().keySet())
+            assertEquals(results.get(key), results.get("mbean." + key), key);
+        assertEquals(3, results.get("event.ir.mahdiparastesh.chrono.SlowConversion"));
+        assertEquals(2, results.get("event.ir.mahdiparastesh.chrono.ChronologyDate"));
+        assertTrue(results.get("event.ir.mahdiparastesh.chrono.Counters") >= 1);
+    }
+
+    private static String location(Class<?> c) throws Exception {
+        return Path.of(c.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("ir.mahdiparastesh.chrono.SlowConversion");
+            recording.enable("ir.mahdiparastesh.chrono.ChronologyDate");
+            recording.enable("ir.mahdiparastesh.chrono.Counters").with("period", "endChunk");
+            recording.start();
+
+            IranianMetrics.reset();
+            long nowruz = IranianDate.of(6404, 1, 1).toEpochDay();
+            IranianDate.ofEpochDay(nowruz);  // a cache hit
+            IranianDate.ofEpochDay(nowruz + 100_000L);  // in the table of year starts
+            IranianDate.ofEpochDay(300_000_000L).toEpochDay();  // out of it, and its epoch day is cached
+            IranianDate.of(900_000, 1, 1).toEpochDay();  // out of it
+            IranianChronology.INSTANCE.date(LocalDate.of(2025, 3, 21));
+            IranianChronology.INSTANCE.date(IranianDate.of(6404, 1, 2));
+            for (int[] invalid : new int[][]{{6404, 12, 30}, {6404, 0, 1}})
+                try {
+                    IranianDate.of(invalid[0], invalid[1], invalid[2]);
+                } catch (DateTimeException ignored) {
+                }
+            try {
+                IranianDate.ofYearDay(6404, 367);
+            } catch (DateTimeException ignored) {
+            }
+            Map<String, Long> snapshot = IranianMetrics.snapshot();
+            recording.stop();
+            recording.dump(file);
+
+            IranianMetrics.registerMBean();
+            IranianMetrics.registerMBean();  // idempotent
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(IranianMetrics.OBJECT_NAME);
+            for (var e : snapshot.entrySet()) {
+                System.out.println(e.getKey() + "=" + e.getValue());
+                System.out.println("mbean." + e.getKey() + "=" + server.getAttribute(name, e.getKey()));
+            }
+        }
+        Map<String, Long> events = new HashMap<>();
+        for (var event : RecordingFile.readAllEvents(file))
+            events.merge("event." + event.getEventType().getName(), 1L, Long::sum);
+        events.forEach((k, v) -> System.out.println(k + "=" + v));
+        Files.delete(file);
+    }
+}
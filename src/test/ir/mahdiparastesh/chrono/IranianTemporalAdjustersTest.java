@@ -0,0 +1,74 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianTemporalAdjustersTest {
+
+    @Test
+    public void months() {
+        for (long epochDay = -100_000; epochDay <= 100_000; epochDay += 3) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            assertEquals(date.with(TemporalAdjusters.firstDayOfMonth()),
+                    date.with(IranianTemporalAdjusters.firstDayOfMonth()));
+            assertEquals(date.with(TemporalAdjusters.lastDayOfMonth()),
+                    date.with(IranianTemporalAdjusters.lastDayOfMonth()));
+            assertEquals(date.with(TemporalAdjusters.firstDayOfNextMonth()),
+                    date.with(IranianTemporalAdjusters.firstDayOfNextMonth()));
+            if (epochDay % 7 == 0)
+                for (int ordinal = -6; ordinal <= 6; ordinal++)
+                    for (DayOfWeek dow : DayOfWeek.values())
+                        assertEquals(date.with(TemporalAdjusters.dayOfWeekInMonth(ordinal, dow)),
+                                date.with(IranianTemporalAdjusters.dayOfWeekInMonth(ordinal, dow)),
+                                ordinal + " " + dow + " of " + date);
+        }
+
+        IranianDate date = IranianDate.of(6404, 1, 16);
+        assertEquals(IranianDate.of(6404, 1, 2), date.with(IranianTemporalAdjusters.firstInMonth(DayOfWeek.SATURDAY)));
+        assertEquals(IranianDate.of(6404, 1, 30), date.with(IranianTemporalAdjusters.lastInMonth(DayOfWeek.SATURDAY)));
+        assertEquals(LocalDate.of(2025, 3, 21),
+                LocalDate.of(2025, 4, 9).with(IranianTemporalAdjusters.firstDayOfMonth()));
+    }
+
+    @Test
+    public void quarters() {
+        IranianDate date = IranianDate.of(6404, 5, 20);
+        assertEquals(IranianDate.of(6404, 4, 1), date.with(IranianTemporalAdjusters.firstDayOfQuarter()));
+        assertEquals(IranianDate.of(6404, 6, 31), date.with(IranianTemporalAdjusters.lastDayOfQuarter()));
+        assertEquals(IranianDate.of(6404, 9, 30),
+                IranianDate.of(6404, 7, 1).with(IranianTemporalAdjusters.lastDayOfQuarter()));
+        assertEquals(IranianDate.of(6404, 12, 29),
+                IranianDate.of(6404, 10, 1).with(IranianTemporalAdjusters.lastDayOfQuarter()));
+        assertEquals(IranianDate.of(6403, 12, 30),
+                IranianDate.of(6403, 12, 30).with(IranianTemporalAdjusters.lastDayOfQuarter()));
+        assertEquals(IranianDate.of(6404, 1, 1),
+                IranianDate.of(6404, 3, 31).with(IranianTemporalAdjusters.firstDayOfQuarter()));
+    }
+
+    @Test
+    public void years() {
+        for (long epochDay = -100_000; epochDay <= 100_000; epochDay += 5) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            assertEquals(date.with(TemporalAdjusters.firstDayOfYear()),
+                    date.with(IranianTemporalAdjusters.firstDayOfYear()));
+            assertEquals(date.with(TemporalAdjusters.lastDayOfYear()),
+                    date.with(IranianTemporalAdjusters.lastDayOfYear()));
+            assertEquals(date.with(TemporalAdjusters.firstDayOfNextYear()),
+                    date.with(IranianTemporalAdjusters.firstDayOfNextYear()));
+        }
+
+        IranianDate nowruz = IranianDate.of(6404, 1, 1);
+        assertSame(nowruz, nowruz.with(IranianTemporalAdjusters.nextOrSameNowruz()));
+        assertEquals(IranianDate.of(6405, 1, 1), nowruz.plusDays(1).with(IranianTemporalAdjusters.nextOrSameNowruz()));
+        assertEquals(LocalDate.of(2026, 3, 21),
+                LocalDate.of(2025, 3, 22).with(IranianTemporalAdjusters.nextOrSameNowruz()));
+        assertThrows(DateTimeException.class,
+                () -> IranianDate.of(999999999, 5, 1).with(IranianTemporalAdjusters.firstDayOfNextYear()));
+    }
+}
@@ -0,0 +1,74 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.temporal.TemporalField;
+import java.time.temporal.ValueRange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianWeekFieldsTest {
+
+    TemporalField[] fields = {
+            IranianWeekFields.DAY_OF_WEEK, IranianWeekFields.WEEK_OF_MONTH, IranianWeekFields.WEEK_OF_YEAR,
+            IranianWeekFields.WEEK_OF_WEEK_BASED_YEAR, IranianWeekFields.WEEK_BASED_YEAR};
+    TemporalField[] generic = {
+            IranianWeekFields.WEEK_FIELDS.dayOfWeek(), IranianWeekFields.WEEK_FIELDS.weekOfMonth(),
+            IranianWeekFields.WEEK_FIELDS.weekOfYear(), IranianWeekFields.WEEK_FIELDS.weekOfWeekBasedYear(),
+            IranianWeekFields.WEEK_FIELDS.weekBasedYear()};
+
+    @Test
+    public void get() {
+        IranianDate nowruz = IranianDate.of(6404, 1, 1);  // Friday
+        assertEquals(7, nowruz.get(IranianWeekFields.DAY_OF_WEEK));
+        assertEquals(1, nowruz.get(IranianWeekFields.WEEK_OF_YEAR));
+        assertEquals(2, nowruz.plusDays(1).get(IranianWeekFields.WEEK_OF_YEAR));
+        assertEquals(1, nowruz.minusDays(1).get(IranianWeekFields.WEEK_OF_WEEK_BASED_YEAR));
+        assertEquals(6404, nowruz.minusDays(1).get(IranianWeekFields.WEEK_BASED_YEAR));
+        assertEquals(6403, nowruz.minusDays(7).get(IranianWeekFields.WEEK_BASED_YEAR));
+
+        for (long epochDay = -200_000; epochDay <= 200_000; epochDay++) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            for (int f = 0; f < fields.length; f++) {
+                assertEquals(date.getLong(generic[f]), date.getLong(fields[f]), fields[f] + " of " + date);
+                if (epochDay % 5 == 0)
+                    assertEquals(date.range(generic[f]), date.range(fields[f]), fields[f] + " of " + date);
+            }
+        }
+
+        LocalDate iso = LocalDate.of(2025, 3, 20);
+        assertTrue(iso.isSupported(IranianWeekFields.WEEK_OF_YEAR));
+        assertEquals(6404, iso.get(IranianWeekFields.WEEK_BASED_YEAR));
+        assertEquals(ValueRange.of(1, 6), IranianDate.of(6404, 1, 1).range(IranianWeekFields.WEEK_OF_MONTH));
+    }
+
+    @Test
+    public void with() {
+        for (long epochDay = -20_000; epochDay <= 20_000; epochDay += 3) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            for (int f = 0; f < fields.length - 1; f++) {
+                ValueRange range = date.range(fields[f]);
+                for (long value = range.getMinimum(); value <= range.getMaximum(); value += 2)
+                    assertEquals(date.with(generic[f], value), date.with(fields[f], value),
+                            fields[f] + " = " + value + " of " + date);
+            }
+            int year = date.get(IranianWeekFields.WEEK_BASED_YEAR);
+            for (int value = year - 3; value <= year + 3; value++) {
+                IranianDate adjusted = date.with(IranianWeekFields.WEEK_BASED_YEAR, value);
+                assertEquals(value, adjusted.get(IranianWeekFields.WEEK_BASED_YEAR));
+                assertEquals(date.get(IranianWeekFields.DAY_OF_WEEK), adjusted.get(IranianWeekFields.DAY_OF_WEEK));
+                assertEquals(Math.min(date.get(IranianWeekFields.WEEK_OF_WEEK_BASED_YEAR),
+                                adjusted.range(IranianWeekFields.WEEK_OF_WEEK_BASED_YEAR).getMaximum()),
+                        adjusted.get(IranianWeekFields.WEEK_OF_WEEK_BASED_YEAR));
+            }
+        }
+        IranianDate date = IranianDate.of(6404, 1, 16);
+        assertEquals(date, IranianDate.of(6404, 1, 20).with(IranianWeekFields.DAY_OF_WEEK, 1));
+        assertEquals(LocalDate.of(2025, 4, 5),
+                LocalDate.of(2025, 4, 9).with(IranianWeekFields.DAY_OF_WEEK, 1));
+        assertThrows(DateTimeException.class,
+                () -> IranianDate.of(6404, 6, 10).with(IranianWeekFields.WEEK_OF_MONTH, 6));
+    }
+}
@@ -0,0 +1,102 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.time.temporal.ChronoField.*;
+import static java.time.temporal.ChronoUnit.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IranianYearMonthTest {
+
+    IranianYearMonth farvardin = IranianYearMonth.of(6404, 1);
+
+    @Test
+    public void getters() {
+        assertEquals(6404, farvardin.getYear());
+        assertEquals(1, farvardin.getMonthValue());
+        assertEquals(IranianDate.of(6404, 1, 16).getLong(PROLEPTIC_MONTH), farvardin.getProlepticMonth());
+        assertEquals("6404-01", farvardin.toString());
+        assertEquals("-0001-12", IranianYearMonth.of(-1, 12).toString());
+        assertEquals("+12345-07", IranianYearMonth.of(12345, 7).toString());
+        assertEquals(LocalDate.of(2025, 3, 21).toEpochDay(), farvardin.startEpochDay());
+        assertEquals(IranianDate.of(6404, 2, 1).toEpochDay(), farvardin.endEpochDay());
+        assertEquals(IranianDateRange.of(IranianDate.of(6404, 1, 1), IranianDate.of(6404, 2, 1)), farvardin.toRange());
+        assertEquals(IranianDate.of(6404, 1, 31), farvardin.atEndOfMonth());
+        assertEquals(IranianDate.of(6403, 12, 30), IranianYearMonth.of(6403, 12).atEndOfMonth());
+        assertThrows(DateTimeException.class, () -> IranianYearMonth.of(6404, 7).atDay(31));
+        assertThrows(DateTimeException.class, () -> IranianYearMonth.of(6404, 13));
+
+        for (long epochDay = -50_000; epochDay < 50_000; epochDay += 3) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            IranianYearMonth yearMonth = IranianYearMonth.from(date);
+            assertEquals(date.get(YEAR), yearMonth.getYear());
+            assertEquals(date.get(MONTH_OF_YEAR), yearMonth.getMonthValue());
+            assertEquals(date.lengthOfMonth(), yearMonth.lengthOfMonth());
+            assertEquals(date.lengthOfYear(), yearMonth.lengthOfYear());
+            assertEquals(date.withDayOfMonth(1), yearMonth.atDay(1));
+            assertTrue(yearMonth.toRange().contains(date));
+            assertEquals(yearMonth, IranianYearMonth.from(LocalDate.ofEpochDay(epochDay)));
+        }
+    }
+
+    @Test
+    public void keys() {
+        assertSame(farvardin, IranianYearMonth.from(IranianDate.of(6404, 1, 20)));
+        Map<IranianYearMonth, Integer> counts = new HashMap<>();
+        for (long epochDay = 20_000; epochDay < 20_365; epochDay++)
+            counts.merge(IranianYearMonth.from(IranianDate.ofEpochDay(epochDay)), 1, Integer::sum);
+        assertEquals(13, counts.size());
+        assertEquals(31, counts.get(IranianYearMonth.of(6404, 2)));
+        assertTrue(farvardin.isBefore(IranianYearMonth.of(6404, 2)));
+        assertTrue(farvardin.compareTo(IranianYearMonth.of(6403, 12)) > 0);
+        assertEquals(IranianYearMonth.of(-5, 3).hashCode(), IranianYearMonth.ofProlepticMonth(-5 * 12 + 2).hashCode());
+    }
+
+    @Test
+    public void temporal() {
+        assertEquals(IranianYearMonth.of(6403, 12), farvardin.minusMonths(1));
+        assertEquals(IranianYearMonth.of(6405, 3), farvardin.plus(Period.of(1, 2, 0)));
+        assertEquals(IranianYearMonth.of(6402, 11), farvardin.minus(IranianChronology.INSTANCE.period(1, 2, 0)));
+        assertEquals(IranianYearMonth.of(6414, 1), farvardin.plus(1, DECADES));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> farvardin.plus(Period.ofDays(1)));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> farvardin.plus(1, DAYS));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> farvardin.getLong(DAY_OF_MONTH));
+
+        assertEquals(IranianYearMonth.of(6404, 9), farvardin.with(MONTH_OF_YEAR, 9));
+        assertEquals(IranianYearMonth.of(-3, 1), farvardin.with(YEAR, -3));
+        assertEquals(25, farvardin.until(IranianYearMonth.of(6406, 2), MONTHS));
+        assertEquals(-1, farvardin.until(IranianDate.of(6402, 12, 29), YEARS));
+        assertEquals(2, farvardin.until(LocalDate.of(2025, 6, 1), MONTHS));
+
+        assertEquals(IranianDate.of(6403, 7, 30), IranianDate.of(6404, 6, 31).with(IranianYearMonth.of(6403, 7)));
+        assertEquals(IranianDate.of(6403, 12, 29), IranianDate.of(6403, 12, 30).with(IranianYearMonth.of(6404, 12))
+                .with(IranianYearMonth.of(6403, 12)));
+        assertThrows(DateTimeException.class, () -> LocalDate.now().with(farvardin));
+        assertEquals(farvardin, IranianYearMonth.of(6405, 5).with(farvardin));
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        var out = new ByteArrayOutputStream();
+        try (var oos = new ObjectOutputStream(out)) {
+            oos.writeObject(farvardin);
+            oos.writeObject(IranianYearMonth.of(999_999, 12));
+        }
+        try (var ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertSame(farvardin, ois.readObject());
+            assertEquals(IranianYearMonth.of(999_999, 12), ois.readObject());
+        }
+    }
+}
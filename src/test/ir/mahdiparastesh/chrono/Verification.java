@@ -0,0 +1,420 @@
+package ir.mahdiparastesh.chrono;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Proves conversion engines equal to a reference calendar on all the cores: every epoch day
+ * of a window around 1970 and every day of sampled extreme years are converted both ways, and
+ * the round trips, the order of the dates and the continuity of the days of the week are checked.
+ * The reference walks the calendar a day at a time by the original floating-point leap rule,
+ * so it shares nothing with the engines but that rule. Out of the window, the absolute epoch
+ * days of a year are taken from the engine itself; the checks across its neighbouring years
+ * make sure that they agree with the lengths of the years.
+ * <p>
+ * Arguments: [half width of the window in days, by default 10000000] [number of the sampled years, by default 2000]
+ */
+@SuppressWarnings("unused")
+public class Verification {
+
+    private static final double LEAP_THRESHOLD = 0.24219858156028368;
+    /** Epoch day of 1 Farvardin 6348 (1969-03-21) */
+    private static final long EPOCH_DAY_6348 = -286L;
+    private static final int CHUNK = 1 << 16;
+    private static final long MIN_YEAR = YEAR.range().getMinimum(), MAX_YEAR = YEAR.range().getMaximum();
+
+    /**
+     * A conversion engine under verification, whose dates are packed into a long as
+     * {@code year << 9 | month << 5 | day}, which sort in the chronological order.
+     */
+    public interface Engine {
+        String name();
+
+        long fromEpochDay(long epochDay);
+
+        long toEpochDay(long year, int month, int day);
+
+        int dayOfYear(long year, int month, int day);
+
+        /** ISO value, from 1 (Monday) to 7 (Sunday) */
+        int dayOfWeek(long epochDay);
+
+        boolean isLeapYear(long year);
+
+        default long minYear() {
+            return MIN_YEAR;
+        }
+
+        default long maxYear() {
+            return MAX_YEAR;
+        }
+    }
+
+    static long pack(long year, int month, int day) {
+        return year << 9 | month << 5 | day;
+    }
+
+    static String unpack(long packed) {
+        return (packed >> 9) + "-" + ((packed >>> 5) & 0xF) + "-" + (packed & 0x1F);
+    }
+
+    /** The public API of {@link IranianDate} and {@link IranianChronology} */
+    public static final Engine IRANIAN_DATE = new Engine() {
+        public String name() {
+            return "IranianDate";
+        }
+
+        public long fromEpochDay(long epochDay) {
+            IranianDate date = IranianDate.ofEpochDay(epochDay);
+            return pack(date.get(YEAR), date.get(MONTH_OF_YEAR), date.get(DAY_OF_MONTH));
+        }
+
+        public long toEpochDay(long year, int month, int day) {
+            return IranianDate.of(Math.toIntExact(year), month, day).toEpochDay();
+        }
+
+        public int dayOfYear(long year, int month, int day) {
+            return IranianDate.of(Math.toIntExact(year), month, day).getDayOfYear();
+        }
+
+        public int dayOfWeek(long epochDay) {
+            return IranianDate.ofEpochDay(epochDay).getDayOfWeek().getValue();
+        }
+
+        public boolean isLeapYear(long year) {
+            return IranianChronology.INSTANCE.isLeapYear(year);
+        }
+    };
+
+    /** The packed dates of {@link IranianDates} */
+    public static final Engine PACKED = new Engine() {
+        public String name() {
+            return "IranianDates";
+        }
+
+        public long fromEpochDay(long epochDay) {
+            int packed = IranianDates.fromEpochDay(epochDay);
+            return pack(IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+        }
+
+        public long toEpochDay(long year, int month, int day) {
+            return IranianDates.toEpochDay(IranianDates.pack(Math.toIntExact(year), month, day));
+        }
+
+        public int dayOfYear(long year, int month, int day) {
+            return IranianDates.dayOfYear(IranianDates.pack(Math.toIntExact(year), month, day));
+        }
+
+        public int dayOfWeek(long epochDay) {
+            return IranianDates.dayOfWeek(IranianDates.fromEpochDay(epochDay)).getValue();
+        }
+
+        public boolean isLeapYear(long year) {
+            return IranianDates.isLeapYear(IranianDates.pack(Math.toIntExact(year), 1, 1));
+        }
+
+        public long minYear() {
+            return IranianDates.YEAR_RANGE.getMinimum();
+        }
+
+        public long maxYear() {
+            return IranianDates.YEAR_RANGE.getMaximum();
+        }
+    };
+
+    /** The cursor of the bulk conversions, one per thread, which is fed with consecutive days */
+    public static final Engine CURSOR = new Engine() {
+        private final ThreadLocal<IranianDates.Cursor> cursors = ThreadLocal.withInitial(IranianDates.Cursor::new);
+
+        public String name() {
+            return "Cursor";
+        }
+
+        public long fromEpochDay(long epochDay) {
+            int packed = cursors.get().pack(epochDay);
+            return pack(IranianDates.year(packed), IranianDates.month(packed), IranianDates.day(packed));
+        }
+
+        public long toEpochDay(long year, int month, int day) {
+            return PACKED.toEpochDay(year, month, day);
+        }
+
+        public int dayOfYear(long year, int month, int day) {
+            return PACKED.dayOfYear(year, month, day);
+        }
+
+        public int dayOfWeek(long epochDay) {
+            return PACKED.dayOfWeek(epochDay);
+        }
+
+        public boolean isLeapYear(long year) {
+            return PACKED.isLeapYear(year);
+        }
+
+        public long minYear() {
+            return PACKED.minYear();
+        }
+
+        public long maxYear() {
+            return PACKED.maxYear();
+        }
+    };
+
+
+    //-------------------------REFERENCE-------------------------------------
+
+    /** The original rule, in which all the years before 2654 are leap. */
+    static boolean referenceLeapYear(long year) {
+        return ((year - 2654) * LEAP_THRESHOLD % 1) < LEAP_THRESHOLD;
+    }
+
+    static int referenceLengthOfMonth(long year, int month) {
+        return month <= 6 ? 31 : month <= 11 ? 30 : referenceLeapYear(year) ? 30 : 29;
+    }
+
+    /** Starts of the years which cover a window of epoch days, counted a year at a time from 6348 */
+    private static final class YearStarts {
+        final long firstYear;
+        final long[] starts;
+
+        YearStarts(long minEpochDay, long maxEpochDay) {
+            List<Long> before = new ArrayList<>(), after = new ArrayList<>();
+            long start = EPOCH_DAY_6348, year = 6348;
+            after.add(start);
+            while (start <= maxEpochDay)
+                after.add(start += referenceLeapYear(year++) ? 366 : 365);
+            start = EPOCH_DAY_6348;
+            year = 6348;
+            while (start > minEpochDay)
+                before.add(start -= referenceLeapYear(--year) ? 366 : 365);
+            firstYear = year;
+            starts = new long[before.size() + after.size()];
+            for (int i = 0; i < before.size(); i++)
+                starts[i] = before.get(before.size() - 1 - i);
+            for (int i = 0; i < after.size(); i++)
+                starts[before.size() + i] = after.get(i);
+        }
+
+        /** Index of the year which contains the epoch day */
+        int indexOf(long epochDay) {
+            int i = Arrays.binarySearch(starts, epochDay);
+            return i >= 0 ? i : -i - 2;
+        }
+    }
+
+
+    //-------------------------VERIFICATION----------------------------------
+
+    /** The first check which failed; epoch days out of the window are those of the engine. */
+    public record Divergence(String check, long year, long epochDay, String expected, String actual) {
+        @Override
+        public String toString() {
+            return check + " diverged in the year " + year + " at the epoch day " + epochDay
+                    + ": expected " + expected + " but was " + actual;
+        }
+    }
+
+    public record Report(String engine, long days, long years, long nanos,
+                         Divergence windowDivergence, Divergence yearDivergence) {
+        public boolean passed() {
+            return windowDivergence == null && yearDivergence == null;
+        }
+
+        public double daysPerSecond() {
+            return days * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-13s %,14d days %,8d years %,10d ms %,14.0f days/s  %s",
+                    engine, days, years, nanos / 1_000_000, daysPerSecond(), passed() ? "OK" :
+                            "FAILED: " + (windowDivergence != null ? windowDivergence : yearDivergence));
+        }
+    }
+
+    /** Walks the reference calendar along the days of an engine and reports the first divergence. */
+    private static final class Walker {
+        final Engine engine;
+        long year, epochDay, previousPacked;
+        int month, day, dayOfYear, previousDayOfWeek;
+        Divergence divergence;
+
+        Walker(Engine engine) {
+            this.engine = engine;
+        }
+
+        /** Starts at a day, with the day before it as the previous one. */
+        boolean start(long epochDay, long year, int dayOfYear) {
+            this.epochDay = epochDay;
+            this.year = year;
+            this.dayOfYear = dayOfYear;
+            month = 1;
+            day = dayOfYear;
+            while (day > referenceLengthOfMonth(year, month)) day -= referenceLengthOfMonth(year, month++);
+            try {
+                previousPacked = engine.fromEpochDay(epochDay - 1);
+                previousDayOfWeek = engine.dayOfWeek(epochDay - 1);
+            } catch (RuntimeException e) {  // the minimum of the range
+                previousPacked = Long.MIN_VALUE;
+                previousDayOfWeek = 0;
+            }
+            return check("isLeapYear", referenceLeapYear(year), engine.isLeapYear(year));
+        }
+
+        /** Checks the current day and moves to the next one. */
+        boolean step(boolean absolute) {
+            long expected = pack(year, month, day), packed;
+            try {
+                packed = engine.fromEpochDay(epochDay);
+                if (packed != expected)
+                    return fail("ofEpochDay", unpack(expected), unpack(packed));
+                if (!check("toEpochDay", epochDay, engine.toEpochDay(year, month, day))
+                        || !check("getDayOfYear", dayOfYear, engine.dayOfYear(year, month, day))
+                        || !check("round trip", epochDay, engine.toEpochDay(packed >> 9,
+                        (int) (packed >>> 5) & 0xF, (int) packed & 0x1F)))
+                    return false;
+                if (packed <= previousPacked)
+                    return fail("ordering", "after " + unpack(previousPacked), unpack(packed));
+                int dayOfWeek = engine.dayOfWeek(epochDay);
+                if (previousDayOfWeek != 0 && !check("dayOfWeek continuity",
+                        DayOfWeek.of(previousDayOfWeek).plus(1).getValue(), dayOfWeek))
+                    return false;
+                if (absolute && !check("dayOfWeek", Math.floorMod(epochDay + 3, 7) + 1, dayOfWeek))
+                    return false;
+                previousPacked = packed;
+                previousDayOfWeek = dayOfWeek;
+            } catch (RuntimeException e) {
+                return fail("exception", unpack(expected), e.toString());
+            }
+
+            epochDay++;
+            dayOfYear++;
+            if (++day > referenceLengthOfMonth(year, month)) {
+                day = 1;
+                if (++month > 12) {
+                    month = 1;
+                    dayOfYear = 1;
+                    year++;
+                    if (year <= engine.maxYear())
+                        return check("isLeapYear", referenceLeapYear(year), engine.isLeapYear(year));
+                }
+            }
+            return true;
+        }
+
+        private boolean check(String check, Object expected, Object actual) {
+            return expected.equals(actual) || fail(check, expected.toString(), actual.toString());
+        }
+
+        private boolean fail(String check, String expected, String actual) {
+            divergence = new Divergence(check, year, epochDay, expected, actual);
+            return false;
+        }
+    }
+
+    /**
+     * Verifies an engine over the epoch days {@code [-halfWidth, halfWidth)} and over all
+     * the days of {@code samples} random years and of the notable years of the rule, within
+     * the range of the engine.
+     */
+    public static Report verify(Engine engine, long halfWidth, int samples) {
+        long startNanos = System.nanoTime();
+        long minEpochDay = -halfWidth, maxEpochDay = halfWidth - 1;
+        var starts = new YearStarts(minEpochDay, maxEpochDay);
+
+        // the window, in chunks in parallel; the chunks past the first divergence are skipped
+        AtomicReference<Divergence> windowDivergence = new AtomicReference<>();
+        AtomicLong firstEpochDay = new AtomicLong(Long.MAX_VALUE);
+        long chunks = Math.ceilDiv(maxEpochDay - minEpochDay + 1, CHUNK);
+        LongStream.range(0, chunks).parallel().forEach(c -> {
+            long from = minEpochDay + c * CHUNK, to = Math.min(from + CHUNK, maxEpochDay + 1);
+            if (from >= firstEpochDay.get()) return;
+            int i = starts.indexOf(from);
+            long year = starts.firstYear + i;
+            if (year < engine.minYear() || year > engine.maxYear()) return;
+            var walker = new Walker(engine);
+            if (walker.start(from, year, (int) (from - starts.starts[i]) + 1))
+                for (long d = from; d < to; d++)
+                    if (!walker.step(true)) break;
+            if (walker.divergence != null)
+                synchronized (windowDivergence) {
+                    if (walker.divergence.epochDay < firstEpochDay.get()) {
+                        firstEpochDay.set(walker.divergence.epochDay);
+                        windowDivergence.set(walker.divergence);
+                    }
+                }
+        });
+
+        // the extreme years, whose epoch days are taken from the engine
+        long[] years = sampleYears(engine, samples);
+        AtomicReference<Divergence> yearDivergence = new AtomicReference<>();
+        AtomicLong firstYear = new AtomicLong(Long.MAX_VALUE);
+        Arrays.stream(years).parallel().forEach(year -> {
+            if (year >= firstYear.get()) return;
+            var walker = new Walker(engine);
+            boolean ok;
+            try {
+                long start = engine.toEpochDay(year, 1, 1);
+                ok = walker.start(start, year, 1);
+                long length = referenceLeapYear(year) ? 366 : 365;
+                for (int d = 0; ok && d < length; d++)
+                    ok = walker.step(false);
+                if (ok && year < engine.maxYear())
+                    ok = walker.check("year length", start + length, engine.toEpochDay(year + 1, 1, 1));
+                if (ok && year > engine.minYear())
+                    ok = walker.check("year length", start - (referenceLeapYear(year - 1) ? 366 : 365),
+                            engine.toEpochDay(year - 1, 1, 1));
+            } catch (RuntimeException e) {
+                walker.fail("exception", "year " + year, e.toString());
+            }
+            if (walker.divergence != null)
+                synchronized (yearDivergence) {
+                    if (year < firstYear.get()) {
+                        firstYear.set(year);
+                        yearDivergence.set(walker.divergence);
+                    }
+                }
+        });
+
+        return new Report(engine.name(), maxEpochDay - minEpochDay + 1 + years.length * 365L,
+                years.length, System.nanoTime() - startNanos, windowDivergence.get(), yearDivergence.get());
+    }
+
+    /**
+     * Sorted random years of the range of an engine, together with its edges and the edges
+     * of the rule: the years before the cycles, the years on the threshold of the cycles,
+     * and the edges of the table of year starts and of the packed dates.
+     */
+    static long[] sampleYears(Engine engine, int samples) {
+        long min = engine.minYear(), max = engine.maxYear();
+        var random = new SplittableRandom(6404);
+        LongStream notable = LongStream.of(
+                MIN_YEAR, MAX_YEAR, -(1 << 22), (1 << 22) - 1, 0, 1, 2653, 2654, 2655, 4999, 5000, 5475,
+                8000, 8001, 8295, 2655 + 2820L * 354_000, 2655 + 2820L * 354_001, 6348 + 5_000_001);
+        return LongStream.concat(notable.flatMap(y -> LongStream.of(y - 1, y, y + 1)),
+                        random.longs(samples, min, max + 1))
+                .filter(y -> y >= min && y <= max).sorted().distinct().toArray();
+    }
+
+    public static void main(String[] args) {
+        long halfWidth = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        System.out.println("Verifying +/-" + halfWidth + " epoch days and " + samples + " sampled years on "
+                + Runtime.getRuntime().availableProcessors() + " processors");
+        boolean passed = true;
+        for (Engine engine : new Engine[]{IRANIAN_DATE, PACKED, CURSOR}) {
+            Report report = verify(engine, halfWidth, samples);
+            System.out.println(report);
+            passed &= report.passed();
+        }
+        if (!passed) System.exit(1);
+    }
+}
@@ -0,0 +1,74 @@
+package ir.mahdiparastesh.chrono;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerificationTest {
+
+    @Test
+    public void engines() {
+        for (var engine : new Verification.Engine[]{
+                Verification.IRANIAN_DATE, Verification.PACKED, Verification.CURSOR}) {
+            var report = Verification.verify(engine, 1_000_000, 200);
+            assertTrue(report.passed(), report.toString());
+            assertTrue(report.days() >= 2_000_000 + 200 * 365, report.toString());
+        }
+    }
+
+    /** An engine which is a day ahead from an epoch day on, and wrong about the leap years from a year on. */
+    private static Verification.Engine mutant(long fromEpochDay, long fromYear) {
+        var engine = Verification.PACKED;
+        return new Verification.Engine() {
+            public String name() {
+                return "Mutant";
+            }
+
+            public long fromEpochDay(long epochDay) {
+                return engine.fromEpochDay(epochDay >= fromEpochDay ? epochDay + 1 : epochDay);
+            }
+
+            public long toEpochDay(long year, int month, int day) {
+                return engine.toEpochDay(year, month, day);
+            }
+
+            public int dayOfYear(long year, int month, int day) {
+                return engine.dayOfYear(year, month, day);
+            }
+
+            public int dayOfWeek(long epochDay) {
+                return engine.dayOfWeek(epochDay);
+            }
+
+            public boolean isLeapYear(long year) {
+                return engine.isLeapYear(year) != year >= fromYear;
+            }
+
+            public long minYear() {
+                return engine.minYear();
+            }
+
+            public long maxYear() {
+                return engine.maxYear();
+            }
+        };
+    }
+
+    @Test
+    public void divergences() {
+        var report = Verification.verify(mutant(123_456, 3_000_000), 1_000_000, 200);
+        assertFalse(report.passed());
+        assertEquals("ofEpochDay", report.windowDivergence().check());
+        assertEquals(123_456, report.windowDivergence().epochDay());
+        assertEquals("ofEpochDay", report.yearDivergence().check());
+        assertEquals(7999, report.yearDivergence().year());  // the first sampled year past the day
+
+        report = Verification.verify(mutant(Long.MAX_VALUE, 3_000_000), 1_000_000, 200);
+        assertNull(report.windowDivergence());
+        assertEquals("isLeapYear", report.yearDivergence().check());
+        long firstYear = Long.MAX_VALUE;
+        for (long year : Verification.sampleYears(Verification.PACKED, 200))
+            if (year >= 3_000_000) firstYear = Math.min(firstYear, year);
+        assertEquals(firstYear, report.yearDivergence().year());
+    }
+}